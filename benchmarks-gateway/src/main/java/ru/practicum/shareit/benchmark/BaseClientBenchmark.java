@@ -0,0 +1,155 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+//    request building and response reading of the gateway's BaseClient against a local stub of the server:
+//    "in-memory" answers from a canned response without any I/O, so it measures headers, uri expansion and
+//    (de)serialization alone, "loopback" goes through the pooled http client to a stub listening on localhost
+//
+//    mvn -B package -DskipTests
+//    java -cp benchmarks-gateway/target/shareit-gateway-benchmarks-0.0.1-SNAPSHOT.jar \
+//        ru.practicum.shareit.benchmark.MicroBenchmarks BaseClientBenchmark
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BaseClientBenchmark {
+    private static final byte[] ITEM_JSON = ("{\"id\":1,\"name\":\"Cordless drill\","
+            + "\"description\":\"18V cordless drill with two batteries and a case of bits\",\"available\":true,"
+            + "\"owner\":{\"id\":1,\"name\":\"owner\",\"email\":\"owner@shareit.ru\"},\"requestId\":1,"
+            + "\"lastBooking\":{\"id\":24,\"start\":\"2023-05-25T13:00:00\",\"end\":\"2023-05-30T13:00:00\","
+            + "\"status\":\"APPROVED\",\"bookerId\":14},"
+            + "\"nextBooking\":{\"id\":26,\"start\":\"2023-06-08T13:00:00\",\"end\":\"2023-06-13T13:00:00\","
+            + "\"status\":\"APPROVED\",\"bookerId\":16},"
+            + "\"comments\":[{\"id\":1,\"text\":\"Worked fine for hanging shelves\",\"authorName\":\"booker1\","
+            + "\"created\":\"2023-05-31T12:00:00\"}]}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"in-memory", "loopback"})
+    private String transport;
+
+    private HttpServer server;
+
+    private CloseableHttpClient httpClient;
+
+    private StubClient client;
+
+    private ItemDto itemDto;
+
+    @Setup
+    public void setUp() throws IOException {
+        ClientHttpRequestFactory requestFactory;
+        String serverUrl;
+        if (transport.equals("loopback")) {
+            //    headers and body leave the stub in separate writes, without this every call waits for a delayed ack
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+                exchange.sendResponseHeaders(HttpStatus.OK.value(), ITEM_JSON.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(ITEM_JSON);
+                }
+            });
+            server.setExecutor(Executors.newFixedThreadPool(4));
+            server.start();
+
+            PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(50);
+            connectionManager.setDefaultMaxPerRoute(50);
+            httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+            requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+            serverUrl = "http://localhost:" + server.getAddress().getPort();
+        } else {
+            requestFactory = (uri, method) -> {
+                MockClientHttpResponse response = new MockClientHttpResponse(ITEM_JSON, HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+                request.setResponse(response);
+                return request;
+            };
+            serverUrl = "http://shareit-server";
+        }
+
+        //    built the way the gateway clients build theirs
+        client = new StubClient(new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/items"))
+                .requestFactory(() -> requestFactory)
+                .build());
+
+        itemDto = new ItemDto();
+        itemDto.setName("Cordless drill");
+        itemDto.setDescription("18V cordless drill with two batteries and a case of bits");
+        itemDto.setAvailable(true);
+        itemDto.setRequestId(1L);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (httpClient != null)
+            httpClient.close();
+        if (server != null)
+            server.stop(0);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getById() {
+        return client.getById(1L, 1L);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getByOwnerWithParameters() {
+        return client.getByOwner(1L, 0, 10);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> add() {
+        return client.add(1L, itemDto);
+    }
+
+    //    the helpers of BaseClient are protected, the gateway clients expose them per endpoint the same way
+    static class StubClient extends BaseClient {
+        StubClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        ResponseEntity<Object> getById(Long itemId, Long userId) {
+            return get("/" + itemId, userId);
+        }
+
+        ResponseEntity<Object> getByOwner(Long userId, Integer from, Integer size) {
+            return get("?from={from}&size={size}", userId, Map.of("from", from, "size", size));
+        }
+
+        ResponseEntity<Object> add(Long userId, ItemDto itemDto) {
+            return post("", userId, itemDto);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+//    runs the JMH benchmarks found on the classpath with the gc profiler, so every result has its allocation rate
+//    (gc.alloc.rate.norm, bytes per operation) next to the throughput; shared by the benchmark modules, each runs
+//    its own benchmarks with it and takes the usual JMH arguments:
+//
+//    java -cp benchmarks/target/shareit-benchmarks-0.0.1-SNAPSHOT.jar \
+//        ru.practicum.shareit.benchmark.MicroBenchmarks [benchmark regexp] [-p comments=10] [-rf json]
+//    java -cp benchmarks-gateway/target/shareit-gateway-benchmarks-0.0.1-SNAPSHOT.jar \
+//        ru.practicum.shareit.benchmark.MicroBenchmarks [benchmark regexp]
+public class MicroBenchmarks {
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//    Inserts users, items and bookings through the server repositories, one transaction per round,
+//    and reports rows per second and the number of JDBC statements Hibernate prepared.
+//    Runs on the in-memory H2 of the test profile unless a datasource is given:
+//
+//    mvn -B package -DskipTests
+//    java -cp benchmarks/target/shareit-benchmarks-0.0.1-SNAPSHOT.jar \
+//        ru.practicum.shareit.benchmark.BulkInsertBenchmark --rows=1000 --rounds=20 \
+//        [--spring.datasource.url=jdbc:postgresql://localhost:6541/shareit --spring.profiles.active=default]
+public class BulkInsertBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int rows = Integer.parseInt(option(args, "rows", "1000"));
+        int rounds = Integer.parseInt(option(args, "rounds", "20"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.orm.jpa=WARN",
+                        "logging.level.org.springframework.transaction=WARN")
+                .run(args);
+        try {
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            ItemRepository itemRepository = context.getBean(ItemRepository.class);
+            BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+            TransactionTemplate transactionTemplate =
+                    new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+                    .getStatistics();
+
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                int warmupRound = round;
+                transactionTemplate.executeWithoutResult(status -> insert(userRepository, itemRepository,
+                        bookingRepository, "warmup" + warmupRound, rows));
+            }
+
+            statistics.clear();
+            long started = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                int measuredRound = round;
+                transactionTemplate.executeWithoutResult(status -> insert(userRepository, itemRepository,
+                        bookingRepository, "round" + measuredRound, rows));
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            long inserted = 3L * rows * rounds;
+            System.out.printf("%n%d rounds of %d users, items and bookings%n", rounds, rows);
+            System.out.printf("rows/s: %.0f, ms per round: %.1f, statements prepared: %d (%.2f per row)%n",
+                    inserted / seconds, seconds * 1000 / rounds, statistics.getPrepareStatementCount(),
+                    (double) statistics.getPrepareStatementCount() / inserted);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void insert(UserRepository userRepository, ItemRepository itemRepository,
+                               BookingRepository bookingRepository, String prefix, int rows) {
+        List<User> users = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            User user = new User();
+            user.setName(prefix + "user" + i);
+            user.setEmail(prefix + "user" + i + "@shareit.ru");
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<Item> items = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Item item = new Item();
+            item.setName(prefix + "item" + i);
+            item.setDescription("bulk inserted item " + i);
+            item.setAvailable(true);
+            item.setOwner(users.get(i));
+            items.add(item);
+        }
+        items = itemRepository.saveAll(items);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Booking booking = new Booking();
+            booking.setStart(start);
+            booking.setEnd(start.plusHours(1));
+            booking.setItem(items.get(i));
+            booking.setBooker(users.get((i + 1) % rows));
+            booking.setStatus(BookingStatus.WAITING);
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "="))
+                return arg.substring(name.length() + 3);
+        }
+        return defaultValue;
+    }
+}
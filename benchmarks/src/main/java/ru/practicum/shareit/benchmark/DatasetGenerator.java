@@ -0,0 +1,356 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+//    Fills the schema of the server migrations with a large synthetic dataset: users, requests, items, bookings,
+//    comments and completed stays. Item popularity and booker activity follow Zipf distributions, so a few items
+//    carry long booking histories and a few users book far more than the rest, and comments are only written
+//    by bookers of an approved finished booking. Rows go in through COPY on PostgreSQL and JDBC batches on H2,
+//    ids continue after the existing ones and the id sequences are moved past them, then the tables are analyzed.
+//    Runs on the in-memory H2 of the test profile unless a datasource is given:
+//
+//    mvn -B package -DskipTests
+//    java -cp benchmarks/target/shareit-benchmarks-0.0.1-SNAPSHOT.jar \
+//        ru.practicum.shareit.benchmark.DatasetGenerator --users=1000000 --items=500000 --requests=200000 \
+//        --bookings=10000000 --comments=1000000 [--item-skew=1.0 --booker-skew=0.8 --seed=42] \
+//        [--spring.datasource.url=jdbc:postgresql://localhost:6541/shareit]
+public class DatasetGenerator {
+    private static final String[] NOUNS = {"drill", "saw", "ladder", "hammer", "tent", "kayak", "bicycle",
+            "projector", "mixer", "vacuum", "grill", "sander", "camera", "scooter", "guitar", "snowboard"};
+    private static final String[] ADJECTIVES = {"cordless", "electric", "folding", "heavy", "compact", "old",
+            "professional", "portable", "waterproof", "kids", "spare", "vintage"};
+    private static final int HISTORY_DAYS = 730;
+    private static final int FUTURE_DAYS = 90;
+    private static final long MIN_BOOKING_SECONDS = 3600;
+    private static final long MAX_BOOKING_SECONDS = 14 * 86400;
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    //    table, id column, sequence
+    private static final String[][] ID_COLUMNS = {
+            {"users", "user_id", "users_seq"},
+            {"requests", "request_id", "requests_seq"},
+            {"items", "item_id", "items_seq"},
+            {"bookings", "booking_id", "bookings_seq"},
+            {"comments", "comment_id", "comments_seq"}
+    };
+
+    private final int users;
+    private final int items;
+    private final int requests;
+    private final int bookings;
+    private final int comments;
+    private final double itemSkew;
+    private final double bookerSkew;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private long userBase;
+    private long requestBase;
+    private long itemBase;
+    private long bookingBase;
+    private long commentBase;
+
+    //    per item: the owner, as an index into the users, and the number of bookings
+    private int[] itemOwners;
+    private int[] itemBookings;
+
+    //    comments are collected while bookings stream out and written afterwards
+    private int[] commentItems = new int[1024];
+    private int[] commentAuthors = new int[1024];
+    private long[] commentCreated = new long[1024];
+    private int commentCount;
+
+    DatasetGenerator(int users, int items, int requests, int bookings, int comments, double itemSkew,
+                     double bookerSkew, long seed) {
+        if (users < 2 || items < 1)
+            throw new IllegalArgumentException("At least 2 users and 1 item are needed");
+        this.users = users;
+        this.items = items;
+        this.requests = requests;
+        this.bookings = bookings;
+        this.comments = comments;
+        this.itemSkew = itemSkew;
+        this.bookerSkew = bookerSkew;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        DatasetGenerator generator = new DatasetGenerator(
+                Integer.parseInt(option(args, "users", "100000")),
+                Integer.parseInt(option(args, "items", "50000")),
+                Integer.parseInt(option(args, "requests", "20000")),
+                Integer.parseInt(option(args, "bookings", "1000000")),
+                Integer.parseInt(option(args, "comments", "100000")),
+                Double.parseDouble(option(args, "item-skew", "1.0")),
+                Double.parseDouble(option(args, "booker-skew", "0.8")),
+                Long.parseLong(option(args, "seed", "42")));
+
+        //    arguments outrank application.properties, whose debug logging would drown the progress output;
+        //    the in-memory H2 of the test profile is used only when no datasource is given
+        boolean ownDatasource = Arrays.stream(args).anyMatch(arg -> arg.startsWith("--spring.datasource.url="));
+        String[] applicationArgs = Stream.concat(Stream.of(
+                "--spring.profiles.active=" + (ownDatasource ? "default" : "test"),
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.orm.jpa=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                "--logging.level.org.springframework.transaction=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN"), Arrays.stream(args))
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(applicationArgs);
+        try {
+            try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+                connection.setAutoCommit(false);
+                generator.generate(connection);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    void generate(Connection connection) throws SQLException {
+        userBase = maxId(connection, ID_COLUMNS[0]);
+        requestBase = maxId(connection, ID_COLUMNS[1]);
+        itemBase = maxId(connection, ID_COLUMNS[2]);
+        bookingBase = maxId(connection, ID_COLUMNS[3]);
+        commentBase = maxId(connection, ID_COLUMNS[4]);
+
+        long started = System.nanoTime();
+        timed(connection, "users", this::writeUsers);
+        timed(connection, "requests", this::writeRequests);
+        timed(connection, "items", this::writeItems);
+        timed(connection, "bookings", this::writeBookings);
+        timed(connection, "comments", this::writeComments);
+        timed(connection, "completed_stays", this::writeCompletedStays);
+
+        try (Statement statement = connection.createStatement()) {
+            for (String[] idColumn : ID_COLUMNS) {
+                //    the pooled optimizer hands out (v - allocation size, v] for a fetched v
+                statement.execute("ALTER SEQUENCE " + idColumn[2] + " RESTART WITH "
+                        + (maxId(connection, idColumn) + SEQUENCE_ALLOCATION_SIZE));
+            }
+            connection.commit();
+            statement.execute("ANALYZE");
+        }
+        connection.commit();
+
+        System.out.printf("%nGenerated in %.1f s%n", (System.nanoTime() - started) / 1e9);
+        printSkew();
+    }
+
+    private long writeUsers(Connection connection) throws SQLException {
+        try (RowWriter writer = RowWriter.open(connection, "users",
+                "user_id", "user_name", "user_email", "user_version", "user_updated")) {
+            for (int i = 0; i < users; i++) {
+                long id = userBase + i + 1;
+                writer.row(id, "user" + id, "user" + id + "@generated.shareit.ru", 0, pastTime(HISTORY_DAYS));
+            }
+            return writer.getRows();
+        }
+    }
+
+    private long writeRequests(Connection connection) throws SQLException {
+        try (RowWriter writer = RowWriter.open(connection, "requests",
+                "request_id", "request_description", "requestor", "request_created")) {
+            for (int i = 0; i < requests; i++) {
+                writer.row(requestBase + i + 1, "need a " + word(ADJECTIVES) + " " + word(NOUNS) + " for "
+                        + (1 + random.nextInt(14)) + " days", userBase + random.nextInt(users) + 1,
+                        pastTime(HISTORY_DAYS));
+            }
+            return writer.getRows();
+        }
+    }
+
+    //    a tenth of the users own items, some of them a great many; every fifth item answers a request
+    private long writeItems(Connection connection) throws SQLException {
+        Zipf owners = new Zipf(Math.max(1, users / 10), 1.0);
+        itemOwners = new int[items];
+        try (RowWriter writer = RowWriter.open(connection, "items", "item_id", "item_name", "item_description",
+                "item_available", "item_owner", "item_request", "item_version", "item_updated")) {
+            for (int i = 0; i < items; i++) {
+                itemOwners[i] = owners.sample(random) - 1;
+                String noun = word(NOUNS);
+                Long request = requests > 0 && random.nextInt(5) == 0 ? requestBase + random.nextInt(requests) + 1
+                        : null;
+                writer.row(itemBase + i + 1, capitalize(noun) + " " + (i + 1), capitalize(word(ADJECTIVES)) + " "
+                                + noun + " " + word(ADJECTIVES) + " " + word(NOUNS) + " included",
+                        random.nextInt(20) > 0, userBase + itemOwners[i] + 1, request, 0, pastTime(HISTORY_DAYS));
+            }
+            return writer.getRows();
+        }
+    }
+
+    //    items are ranked by popularity in a random order, so popular items are spread over the id range;
+    //    every item's bookings follow one another without overlapping, over the last two years and the next months
+    private long writeBookings(Connection connection) throws SQLException {
+        Zipf popularity = new Zipf(items, itemSkew);
+        int[] itemsByRank = shuffled(items);
+        itemBookings = new int[items];
+        for (int i = 0; i < bookings; i++)
+            itemBookings[itemsByRank[popularity.sample(random) - 1]]++;
+
+        Zipf activity = new Zipf(users, bookerSkew);
+        int[] usersByRank = shuffled(users);
+        double commentChance = Math.min(1, comments / Math.max(1, bookings * 0.8 * 0.85));
+        LocalDateTime windowStart = now.minusDays(HISTORY_DAYS);
+        long windowSeconds = (HISTORY_DAYS + FUTURE_DAYS) * 86400L;
+        long id = bookingBase;
+
+        try (RowWriter writer = RowWriter.open(connection, "bookings", "booking_id", "booking_start",
+                "booking_end", "item", "booker", "booking_status", "booking_version", "booking_updated")) {
+            for (int item = 0; item < items; item++) {
+                int count = itemBookings[item];
+                if (count == 0)
+                    continue;
+                long slot = Math.max(windowSeconds / count, 2 * MIN_BOOKING_SECONDS);
+                long maxDuration = Math.min((long) (slot * 0.8), MAX_BOOKING_SECONDS);
+                for (int i = 0; i < count; i++) {
+                    long duration = MIN_BOOKING_SECONDS + (long) (random.nextDouble() * (maxDuration
+                            - MIN_BOOKING_SECONDS));
+                    LocalDateTime start = windowStart.plusSeconds(i * slot
+                            + (long) (random.nextDouble() * (slot - duration)));
+                    LocalDateTime end = start.plusSeconds(duration);
+                    int booker = usersByRank[activity.sample(random) - 1];
+                    if (booker == itemOwners[item])
+                        booker = (booker + 1) % users;
+                    BookingStatus status = status(start, end);
+                    LocalDateTime updated = min(start, now).minusMinutes(random.nextInt(4320));
+
+                    writer.row(++id, start, end, itemBase + item + 1, userBase + booker + 1, status.name(), 0,
+                            updated);
+                    if (status == BookingStatus.APPROVED && end.isBefore(now) && commentCount < comments
+                            && random.nextDouble() < commentChance)
+                        addComment(item, booker, min(end.plusMinutes(random.nextInt(10080)), now));
+                }
+            }
+            return writer.getRows();
+        }
+    }
+
+    private BookingStatus status(LocalDateTime start, LocalDateTime end) {
+        int dice = random.nextInt(100);
+        if (end.isBefore(now))
+            return dice < 85 ? BookingStatus.APPROVED : dice < 95 ? BookingStatus.REJECTED : BookingStatus.CANCELLED;
+        if (start.isBefore(now))
+            return BookingStatus.APPROVED;
+        return dice < 40 ? BookingStatus.WAITING : dice < 90 ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private void addComment(int item, int author, LocalDateTime created) {
+        if (commentCount == commentItems.length) {
+            commentItems = Arrays.copyOf(commentItems, commentCount * 2);
+            commentAuthors = Arrays.copyOf(commentAuthors, commentCount * 2);
+            commentCreated = Arrays.copyOf(commentCreated, commentCount * 2);
+        }
+        commentItems[commentCount] = item;
+        commentAuthors[commentCount] = author;
+        commentCreated[commentCount] = ChronoUnit.SECONDS.between(now, created);
+        commentCount++;
+    }
+
+    private long writeComments(Connection connection) throws SQLException {
+        try (RowWriter writer = RowWriter.open(connection, "comments",
+                "comment_id", "comment_text", "comment_item", "comment_author", "comment_created")) {
+            for (int i = 0; i < commentCount; i++) {
+                writer.row(commentBase + i + 1, "The " + word(NOUNS) + " was " + word(ADJECTIVES)
+                                + " enough, would book again", itemBase + commentItems[i] + 1,
+                        userBase + commentAuthors[i] + 1, now.plusSeconds(commentCreated[i]));
+            }
+            return writer.getRows();
+        }
+    }
+
+    //    the same rows the V5 migration derives from approved bookings, for the generated bookers only
+    private long writeCompletedStays(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate("INSERT INTO completed_stays (stay_booker, stay_item, stay_end) "
+                    + "SELECT b.booker, b.item, MIN(b.booking_end) FROM bookings b "
+                    + "WHERE b.booking_status = 'APPROVED' AND b.booking_id > " + bookingBase
+                    + " GROUP BY b.booker, b.item");
+        }
+    }
+
+    private void printSkew() {
+        int[] sorted = itemBookings.clone();
+        Arrays.sort(sorted);
+        long top = 0;
+        for (int i = sorted.length - 1; i >= sorted.length - Math.max(1, sorted.length / 100); i--)
+            top += sorted[i];
+        System.out.printf("The most booked item has %d bookings, the top 1%% of items hold %.1f%% of all bookings%n",
+                sorted[sorted.length - 1], 100.0 * top / Math.max(1, bookings));
+    }
+
+    private void timed(Connection connection, String table, TableWriter writer) throws SQLException {
+        long started = System.nanoTime();
+        long rows = writer.write(connection);
+        connection.commit();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("%-16s %12d rows %8.1f s %12.0f rows/s%n", table, rows, seconds, rows / seconds);
+    }
+
+    private static long maxId(Connection connection, String[] idColumn) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT COALESCE(MAX(" + idColumn[1] + "), 0) FROM " + idColumn[0])) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private int[] shuffled(int n) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++)
+            values[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+        return values;
+    }
+
+    private LocalDateTime pastTime(int days) {
+        return now.minusSeconds((long) (random.nextDouble() * days * 86400));
+    }
+
+    private String word(String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "="))
+                return arg.substring(name.length() + 3);
+        }
+        return defaultValue;
+    }
+
+    private interface TableWriter {
+        long write(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,218 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//    Compares the servlet and the reactive gateway modes under many concurrent requests to a slow server.
+//    The server is a stub that answers GET /users/{id} after a fixed delay, each mode runs the real gateway jar.
+//
+//    mvn -B package -DskipTests
+//    java -cp benchmarks/target/shareit-benchmarks-0.0.1-SNAPSHOT.jar \
+//        ru.practicum.shareit.benchmark.GatewayModeBenchmark --concurrency=2000 --requests=20000 --delay-ms=200
+public class GatewayModeBenchmark {
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"value\":([0-9.E]+)");
+
+    private final Path gatewayJar;
+    private final int concurrency;
+    private final int requests;
+    private final int delayMs;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public GatewayModeBenchmark(Path gatewayJar, int concurrency, int requests, int delayMs) {
+        this.gatewayJar = gatewayJar;
+        this.concurrency = concurrency;
+        this.requests = requests;
+        this.delayMs = delayMs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        GatewayModeBenchmark benchmark = new GatewayModeBenchmark(
+                Path.of(option(args, "gateway-jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT-exec.jar")),
+                Integer.parseInt(option(args, "concurrency", "2000")),
+                Integer.parseInt(option(args, "requests", "20000")),
+                Integer.parseInt(option(args, "delay-ms", "200")));
+
+        HttpServer stub = benchmark.startSlowServer();
+        try {
+            List<Result> results = new ArrayList<>();
+            results.add(benchmark.run("servlet", stub.getAddress().getPort(), 18081));
+            results.add(benchmark.run("reactive", stub.getAddress().getPort(), 18082));
+
+            System.out.printf("%n%d requests, %d concurrent, server delay %d ms%n",
+                    benchmark.requests, benchmark.concurrency, benchmark.delayMs);
+            System.out.printf("%-10s %12s %10s %10s %10s %8s %13s%n",
+                    "mode", "requests/s", "p50 ms", "p99 ms", "max ms", "errors", "peak threads");
+            for (Result result : results)
+                System.out.printf("%-10s %12.1f %10d %10d %10d %8d %13d%n", result.mode, result.throughput,
+                        result.p50, result.p99, result.max, result.errors, result.peakThreads);
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private HttpServer startSlowServer() throws IOException {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        //    responses are completed by the scheduler, so a slow answer does not hold a stub thread
+        server.createContext("/users/", exchange -> scheduler.schedule(() -> respond(exchange),
+                delayMs, TimeUnit.MILLISECONDS));
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        String id = path.substring(path.lastIndexOf('/') + 1);
+        byte[] body = ("{\"id\":" + id + ",\"name\":\"user" + id + "\",\"email\":\"user" + id + "@shareit.ru\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    private Result run(String mode, int serverPort, int gatewayPort) throws Exception {
+        List<String> command = new ArrayList<>(List.of("java", "-jar", gatewayJar.toString(),
+                "--server.port=" + gatewayPort,
+                "--shareit-server.url=http://localhost:" + serverPort,
+                "--shareit-server.http.max-per-route=" + concurrency,
+                "--shareit-server.http.max-total=" + concurrency,
+                "--shareit-server.http.connection-request-timeout=30s",
+                "--shareit-server.http.read-timeout=30s",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN"));
+        if (mode.equals("reactive"))
+            command.add("--spring.profiles.active=reactive");
+
+        Process gateway = new ProcessBuilder(command).inheritIO().start();
+        try {
+            String baseUrl = "http://localhost:" + gatewayPort;
+            awaitHealthy(baseUrl);
+            load(baseUrl, Math.min(requests, concurrency * 2));
+
+            long started = System.nanoTime();
+            Map<Integer, Integer> latencies = load(baseUrl, requests);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            List<Integer> sorted = new ArrayList<>(latencies.values());
+            Collections.sort(sorted);
+            return new Result(mode, latencies.size() / seconds, percentile(sorted, 0.5), percentile(sorted, 0.99),
+                    sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1), requests - latencies.size(),
+                    (int) metric(baseUrl, "jvm.threads.peak"));
+        } finally {
+            gateway.destroy();
+            gateway.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    //    latency in ms of every successful request, keyed by request number
+    private Map<Integer, Integer> load(String baseUrl, int count) throws InterruptedException {
+        Map<Integer, Integer> latencies = Collections.synchronizedMap(new HashMap<>());
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            inFlight.acquire();
+            int number = i;
+            long started = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/users/" + (i % 1000 + 1)))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (error == null && response.statusCode() == 200)
+                            latencies.put(number, (int) ((System.nanoTime() - started) / 1_000_000));
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return latencies;
+    }
+
+    private void awaitHealthy(String baseUrl) throws InterruptedException {
+        for (int attempt = 0; attempt < 120; attempt++) {
+            try {
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/actuator/health")).build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200)
+                    return;
+            } catch (IOException e) {
+                //    not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("gateway at " + baseUrl + " did not start");
+    }
+
+    private double metric(String baseUrl, String name) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                URI.create(baseUrl + "/actuator/metrics/" + name)).build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = METRIC_VALUE.matcher(response.body());
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : -1;
+    }
+
+    private static int percentile(List<Integer> sorted, double percentile) {
+        if (sorted.isEmpty())
+            return 0;
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "="))
+                return arg.substring(name.length() + 3);
+        }
+        return defaultValue;
+    }
+
+    private static class Result {
+        private final String mode;
+        private final double throughput;
+        private final int p50;
+        private final int p99;
+        private final int max;
+        private final int errors;
+        private final int peakThreads;
+
+        Result(String mode, double throughput, int p50, int p99, int max, int errors, int peakThreads) {
+            this.mode = mode;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+            this.errors = errors;
+            this.peakThreads = peakThreads;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingCompactDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemCompactDto;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//    mapping of entities to the v1 and v2 response shapes, per call
+//
+//    mvn -B package -DskipTests
+//    java -cp benchmarks/target/shareit-benchmarks-0.0.1-SNAPSHOT.jar \
+//        ru.practicum.shareit.benchmark.MicroBenchmarks MapperBenchmark
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param({"0", "10", "100"})
+    private int comments;
+
+    private SampleData data;
+
+    private Booking lastBooking;
+
+    private Booking nextBooking;
+
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        data = new SampleData(50, comments);
+        lastBooking = data.lastBooking();
+        nextBooking = data.nextBooking();
+        booking = data.bookings.get(0);
+    }
+
+    @Benchmark
+    public ItemDto itemDtoForOwner() {
+        return ItemMapper.toItemDto(data.item, lastBooking, nextBooking, data.owner.getId(), data.comments);
+    }
+
+    @Benchmark
+    public ItemDto itemDtoForBooker() {
+        return ItemMapper.toItemDto(data.item, lastBooking, nextBooking, 10L, data.comments);
+    }
+
+    @Benchmark
+    public ItemCompactDto itemCompactDtoForOwner() {
+        return ItemMapper.toItemCompactDto(data.item, lastBooking, nextBooking, data.owner.getId(), data.comments);
+    }
+
+    @Benchmark
+    public BookingDto bookingDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingCompactDto bookingCompactDto() {
+        return BookingMapper.toBookingCompactDto(booking);
+    }
+
+    @Benchmark
+    public List<BookingStatus> stateToStatusesAll() {
+        return BookingStatus.stateToStatuses(BookingState.ALL);
+    }
+
+    @Benchmark
+    public List<BookingStatus> stateToStatusesWaiting() {
+        return BookingStatus.stateToStatuses(BookingState.WAITING);
+    }
+}
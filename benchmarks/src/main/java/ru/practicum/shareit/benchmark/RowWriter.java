@@ -0,0 +1,114 @@
+package ru.practicum.shareit.benchmark;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+//    rows of one table sent in bulk: COPY FROM STDIN on PostgreSQL, JDBC batches of inserts anywhere else
+abstract class RowWriter implements AutoCloseable {
+    private long rows;
+
+    static RowWriter open(Connection connection, String table, String... columns) throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class))
+            return new Copy(connection.unwrap(PGConnection.class), table, columns);
+        return new Batch(connection, table, columns);
+    }
+
+    //    values are Long, Integer, Boolean, String or LocalDateTime, null for NULL
+    void row(Object... values) throws SQLException {
+        write(values);
+        rows++;
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    abstract void write(Object[] values) throws SQLException;
+
+    @Override
+    public abstract void close() throws SQLException;
+
+    private static class Copy extends RowWriter {
+        private static final int FLUSH_SIZE = 1 << 20;
+        private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_SIZE + 4096);
+
+        Copy(PGConnection connection, String table, String[] columns) throws SQLException {
+            copyIn = connection.getCopyAPI().copyIn("COPY " + table + " (" + String.join(", ", columns)
+                    + ") FROM STDIN (FORMAT csv)");
+        }
+
+        @Override
+        void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    buffer.append(',');
+                Object value = values[i];
+                if (value instanceof String)
+                    buffer.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+                else if (value instanceof LocalDateTime)
+                    buffer.append(TIMESTAMP.format((LocalDateTime) value));
+                else if (value != null)
+                    buffer.append(value);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= FLUSH_SIZE)
+                flush();
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+    }
+
+    private static class Batch extends RowWriter {
+        private static final int BATCH_SIZE = 5000;
+
+        private final PreparedStatement statement;
+        private int batched;
+
+        Batch(Connection connection, String table, String[] columns) throws SQLException {
+            statement = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns)
+                    + ") VALUES (" + "?, ".repeat(columns.length - 1) + "?)");
+        }
+
+        @Override
+        void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                statement.setObject(i + 1, value instanceof LocalDateTime
+                        ? Timestamp.valueOf((LocalDateTime) value) : value);
+            }
+            statement.addBatch();
+            if (++batched == BATCH_SIZE) {
+                statement.executeBatch();
+                batched = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (batched > 0)
+                statement.executeBatch();
+            statement.close();
+        }
+    }
+}
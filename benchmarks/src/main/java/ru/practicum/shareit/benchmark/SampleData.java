@@ -0,0 +1,95 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+//    entities shaped like the ones the server renders: an item of an owner, answering a request,
+//    with a history of week-long bookings around now and comments of its bookers
+class SampleData {
+    static final LocalDateTime NOW = LocalDateTime.of(2023, 6, 1, 12, 0);
+
+    final User owner = user(1L, "owner");
+
+    final Item item;
+
+    final List<Booking> bookings = new ArrayList<>();
+
+    final List<CommentDto> comments = new ArrayList<>();
+
+    SampleData(int bookingCount, int commentCount) {
+        User requestor = user(2L, "requestor");
+        ItemRequest request = new ItemRequest();
+        request.setId(1L);
+        request.setDescription("need a cordless drill for the weekend");
+        request.setRequestor(requestor);
+        request.setCreated(NOW.minusMonths(6));
+
+        item = new Item();
+        item.setId(1L);
+        item.setName("Cordless drill");
+        item.setDescription("18V cordless drill with two batteries and a case of bits");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item.setRequest(request);
+        item.setVersion(3L);
+        item.setUpdated(NOW.minusDays(3));
+
+        //    half of the bookings are over, the other half are ahead
+        for (int i = 0; i < bookingCount; i++) {
+            LocalDateTime start = NOW.plusWeeks(i - bookingCount / 2).plusHours(1);
+            Booking booking = new Booking();
+            booking.setId(i + 1L);
+            booking.setStart(start);
+            booking.setEnd(start.plusDays(5));
+            booking.setItem(item);
+            booking.setBooker(user(10L + i % 20, "booker" + i % 20));
+            booking.setStatus(i % 7 == 0 ? BookingStatus.REJECTED : BookingStatus.APPROVED);
+            booking.setVersion(1L);
+            booking.setUpdated(start.minusDays(2));
+            bookings.add(booking);
+        }
+
+        for (int i = 0; i < commentCount; i++) {
+            CommentDto comment = new CommentDto();
+            comment.setId(i + 1L);
+            comment.setText("Worked fine for hanging shelves, battery lasted the whole day " + i);
+            comment.setAuthorName("booker" + i % 20);
+            comment.setCreated(NOW.minusDays(commentCount - i));
+            comments.add(comment);
+        }
+    }
+
+    //    what ItemServiceImpl picks for the owner: the latest finished and the earliest upcoming booking
+    Booking lastBooking() {
+        return bookings.stream()
+                .filter(booking -> booking.getEnd().isBefore(NOW))
+                .max(Comparator.comparing(Booking::getEnd))
+                .orElse(null);
+    }
+
+    Booking nextBooking() {
+        return bookings.stream()
+                .filter(booking -> booking.getStart().isAfter(NOW))
+                .min(Comparator.comparing(Booking::getStart))
+                .orElse(null);
+    }
+
+    private static User user(Long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name + "@shareit.ru");
+        user.setVersion(0L);
+        user.setUpdated(NOW.minusYears(1));
+        return user;
+    }
+}
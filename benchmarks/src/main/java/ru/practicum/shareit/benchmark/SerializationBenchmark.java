@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingCompactDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+//    Jackson serialization of responses with the object mapper Spring Boot builds for the server
+//
+//    java -cp benchmarks/target/shareit-benchmarks-0.0.1-SNAPSHOT.jar \
+//        ru.practicum.shareit.benchmark.MicroBenchmarks SerializationBenchmark
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({"0", "10", "100"})
+    private int comments;
+
+    private ObjectMapper objectMapper;
+
+    private ItemDto itemDto;
+
+    private BookingDto bookingDto;
+
+    private List<BookingDto> bookingPage;
+
+    private List<BookingCompactDto> bookingCompactPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        SampleData data = new SampleData(50, comments);
+        itemDto = ItemMapper.toItemDto(data.item, data.lastBooking(), data.nextBooking(), data.owner.getId(),
+                data.comments);
+        bookingDto = BookingMapper.toBookingDto(data.bookings.get(0));
+        bookingPage = data.bookings.stream()
+                .limit(10)
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+        bookingCompactPage = data.bookings.stream()
+                .limit(10)
+                .map(BookingMapper::toBookingCompactDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] itemDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemDto);
+    }
+
+    @Benchmark
+    public byte[] bookingDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingDto);
+    }
+
+    @Benchmark
+    public byte[] bookingPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingPage);
+    }
+
+    @Benchmark
+    public byte[] bookingCompactPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingCompactPage);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.benchmark;
+
+import java.util.Random;
+
+//    ranks 1..n drawn with probability proportional to 1 / rank^exponent, by rejection-inversion
+//    (W. Hörmann, G. Derflinger, "Rejection-inversion to generate variates from monotone discrete distributions"),
+//    constant time per sample and no tables, so n can be the number of all items or users
+class Zipf {
+    private final int n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    Zipf(int n, double exponent) {
+        if (n < 1 || exponent <= 0)
+            throw new IllegalArgumentException("Zipf needs n >= 1 and a positive exponent");
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    int sample(Random random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) Math.max(1, Math.min(n, Math.round(x)));
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k))
+                return k;
+        }
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1, x * (1 - exponent));
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    //    log1p(x) / x and expm1(x) / x, with their series near zero where exponent is close to 1
+    private static double log1pOverX(double x) {
+        if (Math.abs(x) > 1e-8)
+            return Math.log1p(x) / x;
+        return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    private static double expm1OverX(double x) {
+        if (Math.abs(x) > 1e-8)
+            return Math.expm1(x) / x;
+        return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit;
+
+public class ApiMediaType {
+    //    compact responses: related objects are referenced by id plus a short summary
+    public static final String V2_JSON = "application/vnd.shareit.v2+json";
+}
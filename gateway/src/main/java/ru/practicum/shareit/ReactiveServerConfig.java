@@ -0,0 +1,16 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+//    Tomcat stays on the classpath for the servlet mode and would otherwise be picked for WebFlux too
+@Profile("reactive")
+@Configuration
+public class ReactiveServerConfig {
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
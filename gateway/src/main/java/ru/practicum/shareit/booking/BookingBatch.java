@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+//    entries of a batch that pass validation are sent to the server, the others are answered by the gateway,
+//    and the results of both are put back in the order of the batch
+class BookingBatch {
+    static final int MAX_SIZE = 1000;
+
+    private final Object[] results;
+
+    private final List<BookItemRequestDto> validEntries = new ArrayList<>();
+
+    private final List<Integer> validIndexes = new ArrayList<>();
+
+    private BookingBatch(int size) {
+        results = new Object[size];
+    }
+
+    static BookingBatch validate(List<BookItemRequestDto> entries, Validator validator) {
+        BookingBatch batch = new BookingBatch(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            BookItemRequestDto entry = entries.get(i);
+            if (entry == null) {
+                batch.results[i] = errorResult(i, "booking is empty");
+                continue;
+            }
+
+            Set<ConstraintViolation<BookItemRequestDto>> violations = validator.validate(entry);
+            if (violations.isEmpty()) {
+                batch.validEntries.add(entry);
+                batch.validIndexes.add(i);
+            } else {
+                batch.results[i] = errorResult(i, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+        return batch;
+    }
+
+    //    decisions are applied by the server in one pass, so a batch with any invalid decision is rejected as a whole
+    static String checkDecisions(List<BookingDecisionDto> decisions, Validator validator) {
+        if (decisions.size() > MAX_SIZE)
+            return "batch is larger than " + MAX_SIZE;
+        for (int i = 0; i < decisions.size(); i++) {
+            BookingDecisionDto decision = decisions.get(i);
+            if (decision == null)
+                return "decision " + i + " is empty";
+
+            Set<ConstraintViolation<BookingDecisionDto>> violations = validator.validate(decision);
+            if (!violations.isEmpty())
+                return "decision " + i + ": " + violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+        }
+        return null;
+    }
+
+    List<BookItemRequestDto> getValidEntries() {
+        return validEntries;
+    }
+
+    ResponseEntity<Object> getResults() {
+        return new ResponseEntity<>(Arrays.asList(results), HttpStatus.OK);
+    }
+
+    //    the server numbers the results of the valid entries only, they are renumbered by their place in the batch
+    @SuppressWarnings("unchecked")
+    ResponseEntity<Object> merge(ResponseEntity<Object> response, ObjectMapper objectMapper) {
+        if (!response.getStatusCode().is2xxSuccessful())
+            return response;
+
+        List<Object> serverResults;
+        try {
+            serverResults = response.getBody() instanceof byte[] ?
+                    objectMapper.readValue((byte[]) response.getBody(), List.class) : (List<Object>) response.getBody();
+        } catch (IOException | ClassCastException e) {
+            return response;
+        }
+        if (serverResults == null || serverResults.size() != validIndexes.size())
+            return response;
+
+        for (int i = 0; i < serverResults.size(); i++) {
+            Object serverResult = serverResults.get(i);
+            if (serverResult instanceof Map)
+                ((Map<String, Object>) serverResult).put("index", validIndexes.get(i));
+            results[validIndexes.get(i)] = serverResult;
+        }
+        return getResults();
+    }
+
+    private static Map<String, Object> errorResult(int index, String error) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("status", HttpStatus.BAD_REQUEST.value());
+        result.put("booking", null);
+        result.put("error", error);
+        return result;
+    }
+}
@@ -3,30 +3,40 @@ package ru.practicum.shareit.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Profile("!reactive")
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getByUserId(long userId, BookingState state, Integer from, Integer size) {
-        return get("?state=" + state + "&from=" + from + "&size=" + size, userId);
+    public ResponseEntity<Object> getByUserId(long userId, BookingState state, Integer from, Integer size,
+                                              String cursor) {
+        return get("?state={state}&from={from}&size={size}" + cursorParameter(cursor), userId,
+                listParameters(state, from, size, cursor));
     }
 
 
@@ -34,6 +44,10 @@ public class BookingClient extends BaseClient {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> bookItems(long userId, List<BookItemRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
@@ -42,7 +56,29 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved=" + isApproved, userId, null);
     }
 
-    public ResponseEntity<Object> getByItemsByUserId(Long userId, BookingState state, Integer from, Integer size) {
-        return get("/owner?state=" + state + "&from=" + from + "&size=" + size, userId);
+    public ResponseEntity<Object> decideBookings(long userId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, decisions);
+    }
+
+    public ResponseEntity<Object> getByItemsByUserId(Long userId, BookingState state, Integer from, Integer size,
+                                                     String cursor) {
+        return get("/owner?state={state}&from={from}&size={size}" + cursorParameter(cursor), userId,
+                listParameters(state, from, size, cursor));
+    }
+
+    private static String cursorParameter(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return "";
+        return "&cursor={cursor}";
+    }
+
+    //    values go in as URI template variables, which are encoded, so a cursor can't add parameters of its own
+    private static Map<String, Object> listParameters(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        parameters.put("cursor", cursor);
+        return parameters;
     }
 }
@@ -3,19 +3,27 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.StateIsIncorrectException;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import javax.validation.Valid;
+import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
+import java.util.Map;
 
+@Profile("!reactive")
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -23,18 +31,22 @@ import javax.validation.constraints.PositiveOrZero;
 @Validated
 public class BookingController {
     private final BookingClient bookingClient;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<Object> getByUserId(
             @Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") long userId,
             @Valid @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @Valid @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Valid @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+            @Valid @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new StateIsIncorrectException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getByUserId(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size,
+                cursor);
+        return bookingClient.getByUserId(userId, state, from, size, cursor);
     }
 
     @PostMapping
@@ -44,6 +56,20 @@ public class BookingController {
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> bookItems(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                            @NotNull @RequestBody List<BookItemRequestDto> requestDtos) {
+        log.info("Creating {} bookings, userId={}", requestDtos.size(), userId);
+        if (requestDtos.size() > BookingBatch.MAX_SIZE)
+            return new ResponseEntity<>(Map.of("error", "batch is larger than " + BookingBatch.MAX_SIZE),
+                    HttpStatus.BAD_REQUEST);
+
+        BookingBatch batch = BookingBatch.validate(requestDtos, validator);
+        if (batch.getValidEntries().isEmpty())
+            return batch.getResults();
+        return batch.merge(bookingClient.bookItems(userId, batch.getValidEntries()), objectMapper);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") long userId,
                                              @Valid @NotNull @PathVariable Long bookingId) {
@@ -51,6 +77,17 @@ public class BookingController {
         return bookingClient.getBooking(userId, bookingId);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> decideBookings(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @NotNull @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("Patch {} bookings, userId={}", decisions.size(), userId);
+        String error = BookingBatch.checkDecisions(decisions, validator);
+        if (error != null)
+            return new ResponseEntity<>(Map.of("error", error), HttpStatus.BAD_REQUEST);
+
+        return bookingClient.decideBookings(userId, decisions);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> setApproveById(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
                                                  @Valid @NotNull @PathVariable Long bookingId,
@@ -64,12 +101,14 @@ public class BookingController {
     public ResponseEntity<Object> getByItemsByUserId(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
                              @Valid @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-                             @Valid @Positive @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Get bookings /owner?state={}, userId={}, from={}, size={}", stateParam, userId, from, size);
+                             @Valid @Positive @RequestParam(defaultValue = "10") Integer size,
+                             @RequestParam(required = false) String cursor) {
+        log.info("Get bookings /owner?state={}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from,
+                size, cursor);
 
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new StateIsIncorrectException("Unknown state: " + stateParam));
 
-        return bookingClient.getByItemsByUserId(userId, state, from, size);
+        return bookingClient.getByItemsByUserId(userId, state, from, size, cursor);
     }
 }
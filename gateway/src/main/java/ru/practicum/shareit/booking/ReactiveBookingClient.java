@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Profile("reactive")
+@Service
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).clientConnector(connector).build());
+    }
+
+    public Mono<ResponseEntity<Object>> getByUserId(long userId, BookingState state, Integer from, Integer size,
+                                                    String cursor) {
+        return get("?state={state}&from={from}&size={size}" + cursorParameter(cursor), userId,
+                listParameters(state, from, size, cursor));
+    }
+
+    public Mono<ResponseEntity<Object>> bookItem(long userId, BookItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> bookItems(long userId, List<BookItemRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> setApproveById(Long bookingId, Boolean isApproved, Long userId) {
+        return patch("/" + bookingId + "?approved=" + isApproved, userId, null);
+    }
+
+    public Mono<ResponseEntity<Object>> decideBookings(long userId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, decisions);
+    }
+
+    public Mono<ResponseEntity<Object>> getByItemsByUserId(Long userId, BookingState state, Integer from,
+                                                           Integer size, String cursor) {
+        return get("/owner?state={state}&from={from}&size={size}" + cursorParameter(cursor), userId,
+                listParameters(state, from, size, cursor));
+    }
+
+    private static String cursorParameter(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return "";
+        return "&cursor={cursor}";
+    }
+
+    //    values go in as URI template variables, which are encoded, so a cursor can't add parameters of its own
+    private static Map<String, Object> listParameters(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        parameters.put("cursor", cursor);
+        return parameters;
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.StateIsIncorrectException;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
+import java.util.Map;
+
+@Profile("reactive")
+@Controller
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+    private final ReactiveBookingClient bookingClient;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getByUserId(
+            @Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") long userId,
+            @Valid @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @Valid @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Valid @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new StateIsIncorrectException("Unknown state: " + stateParam));
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size,
+                cursor);
+        return bookingClient.getByUserId(userId, state, from, size, cursor);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> bookItem(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                           @Valid @NotNull @RequestBody BookItemRequestDto requestDto) {
+        log.info("Creating booking {}, userId={}", requestDto, userId);
+        return bookingClient.bookItem(userId, requestDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> bookItems(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @NotNull @RequestBody List<BookItemRequestDto> requestDtos) {
+        log.info("Creating {} bookings, userId={}", requestDtos.size(), userId);
+        if (requestDtos.size() > BookingBatch.MAX_SIZE)
+            return Mono.just(new ResponseEntity<>(Map.of("error", "batch is larger than " + BookingBatch.MAX_SIZE),
+                    HttpStatus.BAD_REQUEST));
+
+        BookingBatch batch = BookingBatch.validate(requestDtos, validator);
+        if (batch.getValidEntries().isEmpty())
+            return Mono.just(batch.getResults());
+        return bookingClient.bookItems(userId, batch.getValidEntries())
+                .map(response -> batch.merge(response, objectMapper));
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> getBooking(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") long userId,
+                                             @Valid @NotNull @PathVariable Long bookingId) {
+        log.info("Get booking {}, userId={}", bookingId, userId);
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> decideBookings(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @NotNull @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("Patch {} bookings, userId={}", decisions.size(), userId);
+        String error = BookingBatch.checkDecisions(decisions, validator);
+        if (error != null)
+            return Mono.just(new ResponseEntity<>(Map.of("error", error), HttpStatus.BAD_REQUEST));
+
+        return bookingClient.decideBookings(userId, decisions);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> setApproveById(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @Valid @NotNull @PathVariable Long bookingId,
+                                                 @Valid @NotNull @RequestParam(name = "approved") Boolean isApproved) {
+        log.info("Patch booking {}, userId={}, approved={}", bookingId, userId, isApproved);
+
+        return bookingClient.setApproveById(bookingId, isApproved, userId);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> getByItemsByUserId(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                             @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                             @Valid @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                             @Valid @Positive @RequestParam(defaultValue = "10") Integer size,
+                             @RequestParam(required = false) String cursor) {
+        log.info("Get bookings /owner?state={}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from,
+                size, cursor);
+
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new StateIsIncorrectException("Unknown state: " + stateParam));
+
+        return bookingClient.getByItemsByUserId(userId, state, from, size, cursor);
+    }
+}
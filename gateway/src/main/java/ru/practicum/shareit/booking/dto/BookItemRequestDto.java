@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import javax.validation.constraints.AssertTrue;
 import javax.validation.constraints.Future;
 import javax.validation.constraints.FutureOrPresent;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 
 import lombok.AllArgsConstructor;
@@ -19,13 +20,15 @@ import org.springframework.validation.annotation.Validated;
 public class BookItemRequestDto {
 	@Positive
 	private long itemId;
+	@NotNull
 	@FutureOrPresent
 	private LocalDateTime start;
+	@NotNull
 	@Future
 	private LocalDateTime end;
 
 	@AssertTrue(message = "Field 'end' must be after 'start'")
 	private boolean isEndAfterStart() {
-		return end.isAfter(start);
+		return start == null || end == null || end.isAfter(start);
 	}
 }
@@ -1,18 +1,30 @@
 package ru.practicum.shareit.client;
 
+import java.net.SocketTimeoutException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.apache.http.conn.ConnectionPoolTimeoutException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.ApiMediaType;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONTENT_LENGTH, "Keep-Alive");
+
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -91,6 +103,8 @@ public class BaseClient {
             }
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        } catch (ResourceAccessException e) {
+            return ResponseEntity.status(unavailableServerStatus(e)).body(Map.of("error", e.getMessage()));
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -98,16 +112,57 @@ public class BaseClient {
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setAccept(acceptedMediaTypes());
+        String ifNoneMatch = currentRequestHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
         return headers;
     }
 
+    //    the compact v2 shape is passed through when the caller of the gateway asks for it,
+    //    endpoints without a v2 shape keep answering with plain json
+    private static List<MediaType> acceptedMediaTypes() {
+        String accept = currentRequestHeader(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains(ApiMediaType.V2_JSON))
+            return List.of(MediaType.valueOf(ApiMediaType.V2_JSON), MediaType.APPLICATION_JSON);
+        return List.of(MediaType.APPLICATION_JSON);
+    }
+
+    private static String currentRequestHeader(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getHeader(name);
+        }
+        return null;
+    }
+
+    //    no free pooled connection means the gateway itself is saturated,
+    //    a read timeout means the server is too slow, anything else means it is unreachable
+    private static HttpStatus unavailableServerStatus(ResourceAccessException e) {
+        if (e.getCause() instanceof ConnectionPoolTimeoutException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        if (e.getCause() instanceof SocketTimeoutException) {
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
+        return HttpStatus.BAD_GATEWAY;
+    }
+
+    //    the body is written anew by the gateway, so the framing headers of the server's response do not apply to it
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.addAll(name, values);
+            }
+        });
+
+        if (response.getStatusCode().is2xxSuccessful() || response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return ResponseEntity.status(response.getStatusCode()).headers(headers).body(response.getBody());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+class CachedResponse implements ClientHttpResponse {
+    private final HttpHeaders headers;
+
+    private final byte[] body;
+
+    CachedResponse(HttpHeaders headers, byte[] body) {
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+    }
+
+    String getEtag() {
+        return headers.getETag();
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return HttpStatus.OK;
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return HttpStatus.OK.value();
+    }
+
+    @Override
+    public String getStatusText() {
+        return HttpStatus.OK.getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTags;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTagsProvider;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTags;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.regex.Pattern;
+
+//    every call to the server is timed as http.client.requests by the instrumented RestTemplate or WebClient;
+//    the clients concatenate ids into their paths, so the uri tag is the path with the ids taken out,
+//    one endpoint per series instead of one series per id
+@Configuration
+public class ClientMetricsConfig {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    @Bean
+    public RestTemplateExchangeTagsProvider shareItServerRestTemplateTags() {
+        return (urlTemplate, request, response) -> Tags.of(
+                RestTemplateExchangeTags.method(request),
+                endpoint(request.getURI().getPath()),
+                RestTemplateExchangeTags.status(response),
+                RestTemplateExchangeTags.clientName(request),
+                RestTemplateExchangeTags.outcome(response));
+    }
+
+    @Bean
+    public WebClientExchangeTagsProvider shareItServerWebClientTags() {
+        return (request, response, throwable) -> Tags.of(
+                WebClientExchangeTags.method(request),
+                endpoint(request.url().getPath()),
+                WebClientExchangeTags.status(response, throwable),
+                WebClientExchangeTags.clientName(request),
+                WebClientExchangeTags.outcome(response));
+    }
+
+    private static Tag endpoint(String path) {
+        return Tag.of("uri", ID_SEGMENT.matcher(path).replaceAll("/{id}"));
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+//    keeps the last response of every GET that came with an ETag and revalidates it with If-None-Match,
+//    so an unchanged resource costs the server a version lookup instead of a full response
+@Profile("!reactive")
+@Component
+public class ConditionalGetInterceptor implements ClientHttpRequestInterceptor, RestTemplateCustomizer {
+    private static final int MAX_USERS = 10_000;
+    private static final int MAX_RESPONSES_PER_USER = 100;
+    private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+    private static final String ANONYMOUS = "-";
+
+    private final Cache<String, Cache<String, CachedResponse>> responsesByUser = Caffeine.newBuilder()
+            .maximumSize(MAX_USERS)
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+            .build();
+
+    @Override
+    public void customize(RestTemplate restTemplate) {
+        restTemplate.getInterceptors().add(this);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET)
+            return execution.execute(request, body);
+
+        HttpHeaders headers = request.getHeaders();
+        String user = Objects.requireNonNullElse(headers.getFirst("X-Sharer-User-Id"), ANONYMOUS);
+        Cache<String, CachedResponse> responses = responsesByUser.get(user, key -> Caffeine.newBuilder()
+                .maximumSize(MAX_RESPONSES_PER_USER)
+                .build());
+        String key = headers.getAccept() + " " + request.getURI();
+        CachedResponse cached = responses.getIfPresent(key);
+
+        List<String> clientEtags = headers.getIfNoneMatch();
+        if (cached != null && !clientEtags.contains(cached.getEtag())) {
+            List<String> etags = new ArrayList<>(clientEtags);
+            etags.add(cached.getEtag());
+            headers.setIfNoneMatch(etags);
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        String etag = response.getHeaders().getETag();
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            //    the client's own copy is current: pass the 304 through, otherwise answer from the cache
+            if (cached != null && cached.getEtag().equals(etag) && !clientEtags.contains(etag)) {
+                response.close();
+                return cached;
+            }
+            return response;
+        }
+
+        if (response.getStatusCode() == HttpStatus.OK && etag != null) {
+            CachedResponse fresh = new CachedResponse(response.getHeaders(),
+                    StreamUtils.copyToByteArray(response.getBody()));
+            response.close();
+            responses.put(key, fresh);
+            return fresh;
+        }
+
+        if (cached != null)
+            responses.invalidate(key);
+        return response;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    private int maxTotal = 200;
+
+    private int maxPerRoute = 100;
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    //    how long a request may wait for a free pooled connection before failing with 503
+    private Duration connectionRequestTimeout = Duration.ofMillis(500);
+
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
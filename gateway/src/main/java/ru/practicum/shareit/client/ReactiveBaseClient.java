@@ -0,0 +1,129 @@
+package ru.practicum.shareit.client;
+
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import ru.practicum.shareit.ApiMediaType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+//    non-blocking counterpart of BaseClient: server responses are relayed as raw bytes
+//    without being parsed and serialized again
+public class ReactiveBaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONTENT_LENGTH, "Keep-Alive");
+
+    protected final WebClient webClient;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return makeAndSendRequest(HttpMethod.GET, path, null, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, null, parameters, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, null, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, null, null, null);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        return Mono.deferContextual(context -> {
+            WebClient.RequestBodyUriSpec requestMethod = webClient.method(method);
+            WebClient.RequestBodySpec request = (parameters != null
+                    ? requestMethod.uri(path, parameters) : requestMethod.uri(path))
+                    .headers(headers -> defaultHeaders(headers, userId, context));
+            WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+            return requestWithBody.exchangeToMono(ReactiveBaseClient::prepareGatewayResponse);
+        }).onErrorResume(WebClientRequestException.class, e -> Mono.just(
+                ResponseEntity.status(unavailableServerStatus(e)).body(Map.of("error", e.getMessage()))));
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId, ContextView context) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+
+        //    the incoming request is put into the context by ServerWebExchangeContextFilter
+        if (context.hasKey(ServerWebExchange.class)) {
+            HttpHeaders incoming = context.<ServerWebExchange>get(ServerWebExchange.class).getRequest().getHeaders();
+            String accept = incoming.getFirst(HttpHeaders.ACCEPT);
+            if (accept != null && accept.contains(ApiMediaType.V2_JSON)) {
+                headers.setAccept(List.of(MediaType.valueOf(ApiMediaType.V2_JSON), MediaType.APPLICATION_JSON));
+            }
+            String ifNoneMatch = incoming.getFirst(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+        }
+    }
+
+    //    same mapping as BaseClient: saturated pool, slow server, unreachable server
+    private static HttpStatus unavailableServerStatus(WebClientRequestException e) {
+        if (e.getCause() instanceof TimeoutException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        if (e.getCause() instanceof ReadTimeoutException) {
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
+        return HttpStatus.BAD_GATEWAY;
+    }
+
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().asHttpHeaders().forEach((name, values) -> {
+            if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.addAll(name, values);
+            }
+        });
+
+        return response.bodyToMono(byte[].class)
+                .map(body -> ResponseEntity.status(response.rawStatusCode()).headers(headers).<Object>body(body))
+                .defaultIfEmpty(ResponseEntity.status(response.rawStatusCode()).headers(headers).build());
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+//    reactive replacement for RequestContextHolder: lets ReactiveBaseClient see the incoming request headers
+@Profile("reactive")
+@Component
+public class ServerWebExchangeContextFilter implements WebFilter {
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(ServerWebExchange.class, exchange));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+//    pool that records how long requests wait for a connection and how often they give up waiting
+class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+    private final Timer leaseTimer;
+
+    private final Counter leaseTimeouts;
+
+    TimedConnectionManager(MeterRegistry meterRegistry, String pool) {
+        leaseTimer = Timer.builder("httpcomponents.httpclient.pool.lease")
+                .tag("httpclient", pool)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        leaseTimeouts = Counter.builder("httpcomponents.httpclient.pool.lease.timeouts")
+                .tag("httpclient", pool)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                try {
+                    return request.get(timeout, timeUnit);
+                } catch (ConnectionPoolTimeoutException e) {
+                    leaseTimeouts.increment();
+                    throw e;
+                } finally {
+                    leaseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.comment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.comment.dto.CommentDtoInput;
+
+@Profile("reactive")
+@Service
+public class ReactiveCommentClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveCommentClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).clientConnector(connector).build());
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(Long userId, Long itemId, CommentDtoInput commentDtoInput) {
+        return post("/" + itemId + "/comment", userId, commentDtoInput);
+    }
+}
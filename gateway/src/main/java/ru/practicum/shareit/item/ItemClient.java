@@ -3,24 +3,32 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.item.dto.AvailableItemsSearchDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.util.HashMap;
+import java.util.Map;
+
+@Profile("!reactive")
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
@@ -42,7 +50,35 @@ public class ItemClient extends BaseClient {
     }
 
     ResponseEntity<Object> search(String text, Integer from, Integer size) {
-        String path = "/search?text=" + text + "&from=" + from + "&size=" + size;
-        return get(path);
+        return get("/search?text={text}&from={from}&size={size}", null,
+                Map.of("text", text, "from", from, "size", size));
+    }
+
+    public ResponseEntity<Object> searchAvailable(AvailableItemsSearchDto search, Integer from, Integer size) {
+        return get("/available?start={start}&end={end}&from={from}&size={size}" + textParameter(search.getText()),
+                null, availableParameters(search, from, size));
+    }
+
+    public ResponseEntity<Object> getAvailability(Long itemId, AvailabilityWindowDto window) {
+        return get("/{itemId}/availability?from={from}&to={to}", null,
+                Map.of("itemId", itemId, "from", window.getFrom(), "to", window.getTo()));
+    }
+
+    static String textParameter(String text) {
+        if (text == null || text.isBlank())
+            return "";
+        return "&text={text}";
+    }
+
+    //    values go in as URI template variables, which are encoded, so a text can't add parameters of its own
+    static Map<String, Object> availableParameters(AvailableItemsSearchDto search, Integer from, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("start", search.getStart());
+        parameters.put("end", search.getEnd());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (search.getText() != null && !search.getText().isBlank())
+            parameters.put("text", search.getText());
+        return parameters;
     }
 }
@@ -2,12 +2,15 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.comment.CommentClient;
 import ru.practicum.shareit.comment.dto.CommentDtoInput;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.item.dto.AvailableItemsSearchDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
@@ -17,6 +20,7 @@ import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.util.ArrayList;
 
+@Profile("!reactive")
 @Controller
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -68,6 +72,24 @@ public class ItemController {
         return itemClient.search(text, from, size);
     }
 
+    @GetMapping("/available")
+    public ResponseEntity<Object> searchAvailable(@Valid AvailableItemsSearchDto search,
+                                @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                @Positive @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Get items available from {} to {}, text={}, from={}, size={}", search.getStart(), search.getEnd(),
+                search.getText(), from, size);
+
+        return itemClient.searchAvailable(search, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@Valid @PathVariable @NotNull Long itemId,
+                                      @Valid AvailabilityWindowDto window) {
+        log.info("Get availability of item {}, from={}, to={}", itemId, window.getFrom(), window.getTo());
+
+        return itemClient.getAvailability(itemId, window);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
                                  @Valid @PathVariable @NotNull Long itemId,
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.item.dto.AvailableItemsSearchDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+
+import java.util.Map;
+
+@Profile("reactive")
+@Service
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).clientConnector(connector).build());
+    }
+
+    Mono<ResponseEntity<Object>> add(Long userId, ItemDto itemDto) {
+        return post("", userId, itemDto);
+    }
+
+    Mono<ResponseEntity<Object>> edit(Long userId, Long itemId, ItemUpdateDto itemDto) {
+        return patch("/" + itemId, userId, itemDto);
+    }
+
+    Mono<ResponseEntity<Object>> getById(Long itemId, Long userId) {
+        return get("/" + itemId, userId);
+    }
+
+    Mono<ResponseEntity<Object>> getByOwnerId(Long userId, Integer from, Integer size) {
+        return get("?from=" + from + "&size=" + size, userId);
+    }
+
+    Mono<ResponseEntity<Object>> search(String text, Integer from, Integer size) {
+        return get("/search?text={text}&from={from}&size={size}", Map.of("text", text, "from", from, "size", size));
+    }
+
+    public Mono<ResponseEntity<Object>> searchAvailable(AvailableItemsSearchDto search, Integer from, Integer size) {
+        return get("/available?start={start}&end={end}&from={from}&size={size}" +
+                ItemClient.textParameter(search.getText()), ItemClient.availableParameters(search, from, size));
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(Long itemId, AvailabilityWindowDto window) {
+        return get("/{itemId}/availability?from={from}&to={to}",
+                Map.of("itemId", itemId, "from", window.getFrom(), "to", window.getTo()));
+    }
+}
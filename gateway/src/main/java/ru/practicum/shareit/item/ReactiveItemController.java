@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.comment.ReactiveCommentClient;
+import ru.practicum.shareit.comment.dto.CommentDtoInput;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.item.dto.AvailableItemsSearchDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.ArrayList;
+
+@Profile("reactive")
+@Controller
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveItemController {
+    private final ReactiveItemClient itemClient;
+    private final ReactiveCommentClient commentClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> add(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                              @Valid @NotNull @RequestBody ItemDto itemDto) {
+        log.info("Post item userId={}", userId);
+        return itemClient.add(userId, itemDto);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> edit(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                        @Valid @NotNull @RequestBody ItemUpdateDto itemDto,
+                        @Valid @NotNull @PathVariable Long itemId) {
+        log.info("Patch item {}, userId={}", itemId, userId);
+        return itemClient.edit(userId, itemId, itemDto);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> getById(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                           @PathVariable @Valid @NotNull Long itemId) {
+        log.info("Get item {}, userId={}", itemId, userId);
+        return itemClient.getById(itemId, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getByOwnerId(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                      @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                      @Positive @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Get items bi owner {}, from={}, size={}", userId, from, size);
+
+        return itemClient.getByOwnerId(userId, from, size);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> search(@RequestParam String text,
+                                @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                @Positive @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Get items by search text={}, from={}, size={}", text, from, size);
+
+        if (text == null || text.isBlank())
+            return Mono.just(new ResponseEntity<>(new ArrayList<>(), HttpStatus.OK));
+
+        return itemClient.search(text, from, size);
+    }
+
+    @GetMapping("/available")
+    public Mono<ResponseEntity<Object>> searchAvailable(@Valid AvailableItemsSearchDto search,
+                                @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                @Positive @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Get items available from {} to {}, text={}, from={}, size={}", search.getStart(), search.getEnd(),
+                search.getText(), from, size);
+
+        return itemClient.searchAvailable(search, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@Valid @PathVariable @NotNull Long itemId,
+                                      @Valid AvailabilityWindowDto window) {
+        log.info("Get availability of item {}, from={}, to={}", itemId, window.getFrom(), window.getTo());
+
+        return itemClient.getAvailability(itemId, window);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> addComment(@Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+                                 @Valid @PathVariable @NotNull Long itemId,
+                                 @Valid @RequestBody @NotNull CommentDtoInput commentDtoInput) {
+        log.info("Post comment, itemId={}, userId={}", itemId, userId);
+
+        return commentClient.addComment(userId, itemId, commentDtoInput);
+    }
+}
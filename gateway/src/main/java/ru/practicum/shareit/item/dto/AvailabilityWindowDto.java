@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@Data
+public class AvailabilityWindowDto {
+    @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    @AssertTrue(message = "Field 'to' must be after 'from'")
+    private boolean isToAfterFrom() {
+        return from == null || to == null || to.isAfter(from);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@Data
+public class AvailableItemsSearchDto {
+    private String text;
+    @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime start;
+    @NotNull
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime end;
+
+    @AssertTrue(message = "Field 'end' must be after 'start'")
+    private boolean isEndAfterStart() {
+        return start == null || end == null || end.isAfter(start);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
+
+@Profile("reactive")
+@Service
+public class ReactiveRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    public ReactiveRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).clientConnector(connector).build());
+    }
+
+    public Mono<ResponseEntity<Object>> addRequest(Long requestorId, ItemRequestDtoInput itemRequestDtoInput) {
+        return post("", requestorId, itemRequestDtoInput);
+    }
+
+    public Mono<ResponseEntity<Object>> getByRequestorId(Long requestorId) {
+        return get("", requestorId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByPages(Long userId, Integer from, Integer size) {
+        return get("/all?from=" + from + "&size=" + size, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getByRequestId(Long userId, Long requestId) {
+        return get("/" + requestId, userId);
+    }
+}
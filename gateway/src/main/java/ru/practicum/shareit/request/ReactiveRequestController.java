@@ -0,0 +1,62 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@Profile("reactive")
+@Controller
+@RequestMapping("/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveRequestController {
+    private final ReactiveRequestClient requestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addRequest(
+            @Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long requestorId,
+            @Valid @NotNull @RequestBody ItemRequestDtoInput itemRequestDtoInput
+    ) {
+        log.info("POST /requests");
+        return requestClient.addRequest(requestorId, itemRequestDtoInput);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getByRequestorId(
+            @Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long requestorId
+    ) {
+        log.info("GET /requests");
+        return requestClient.getByRequestorId(requestorId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> getAllByPages(
+            @Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+            @Valid @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Valid @Positive @RequestParam(defaultValue = "10") Integer size
+    ) {
+        log.info("GET /requests/all?from={}&size={}", from, size);
+        return requestClient.getAllByPages(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> getByRequestId(
+            @Valid @NotNull @Positive @RequestHeader("X-Sharer-User-Id") Long userId,
+            @Valid @Positive @PathVariable Long requestId
+    ) {
+        log.info("GET /requests/{}", requestId);
+        return requestClient.getByRequestId(userId, requestId);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+@Profile("reactive")
+@Service
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).clientConnector(connector).build());
+    }
+
+    Mono<ResponseEntity<Object>> getAll() {
+        return get("");
+    }
+
+    Mono<ResponseEntity<Object>> save(UserDto user) {
+        return post("/", user);
+    }
+
+    Mono<ResponseEntity<Object>> getById(Long id) {
+        return get("/" + id);
+    }
+
+    Mono<ResponseEntity<Object>> update(UserUpdateDto userDto, Long userId) {
+        return patch("/" + userId, userDto);
+    }
+
+    Mono<ResponseEntity<Object>> delete(Long id) {
+        return delete("/" + id);
+    }
+}
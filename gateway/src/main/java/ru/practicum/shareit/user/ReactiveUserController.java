@@ -0,0 +1,54 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+@Profile("reactive")
+@Controller
+@RequestMapping("/users")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserController {
+    private final ReactiveUserClient userClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAll() {
+        log.info("Get all users");
+        return userClient.getAll();
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> save(@Valid @NotNull @RequestBody UserDto user) {
+        log.info("Post user");
+        return userClient.save(user);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> getById(@Valid @NotNull @PathVariable Long userId) {
+        log.info("GET user by id {}", userId);
+        return userClient.getById(userId);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> update(@Valid @NotNull @RequestBody UserUpdateDto userDto,
+                                         @Valid @NotNull @PathVariable Long userId) {
+        log.info("PATCH user {}", userId);
+        return userClient.update(userDto, userId);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> delete(@Valid @NotNull @PathVariable Long userId) {
+        log.info("DELETE user {}", userId);
+        return userClient.delete(userId);
+    }
+}
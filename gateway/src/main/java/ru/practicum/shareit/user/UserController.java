@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -11,6 +12,7 @@ import ru.practicum.shareit.user.dto.UserUpdateDto;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
+@Profile("!reactive")
 @Controller
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -0,0 +1,180 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//    users, requests, items and bookings created through the gateway before the load starts,
+//    and what the scenarios need to know about them afterwards
+class Dataset {
+    private static final String[] NOUNS = {"drill", "saw", "ladder", "hammer", "tent", "kayak", "bicycle",
+            "projector", "mixer", "vacuum", "grill", "sander"};
+    private static final String[] ADJECTIVES = {"cordless", "electric", "folding", "heavy", "compact", "old",
+            "professional", "portable"};
+    private static final int SEED_CONCURRENCY = 16;
+
+    //    each item is booked in consecutive three day slots starting tomorrow, so bookings never overlap
+    private final LocalDateTime firstSlot = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    private final long[] users;
+    private final long[] owners;
+    private final long[] items;
+    private final long[] itemOwners;
+    private final AtomicInteger[] itemSlots;
+    private final Queue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+
+    private Dataset(int userCount, int ownerCount, int itemCount) {
+        users = new long[userCount];
+        owners = new long[ownerCount];
+        items = new long[itemCount];
+        itemOwners = new long[itemCount];
+        itemSlots = new AtomicInteger[itemCount];
+        for (int i = 0; i < itemCount; i++)
+            itemSlots[i] = new AtomicInteger();
+    }
+
+    static Dataset seed(GatewayClient client, Options options) throws Exception {
+        int ownerCount = Math.max(1, options.getUsers() / 10);
+        Dataset dataset = new Dataset(options.getUsers(), ownerCount, options.getItems());
+        Random random = new Random(options.getSeed());
+        ExecutorService executor = Executors.newFixedThreadPool(SEED_CONCURRENCY);
+        try {
+            dataset.seedUsers(client, executor);
+            System.arraycopy(dataset.users, 0, dataset.owners, 0, ownerCount);
+            long[] requests = dataset.seedRequests(client, executor, random, options.getRequests());
+            dataset.seedItems(client, executor, random, requests);
+            dataset.seedBookings(client, executor, random, options.getBookings());
+        } finally {
+            executor.shutdown();
+        }
+        return dataset;
+    }
+
+    private void seedUsers(GatewayClient client, ExecutorService executor) throws Exception {
+        List<Future<Long>> created = new ArrayList<>();
+        for (int i = 0; i < users.length; i++) {
+            Map<String, Object> user = Map.of("name", "user" + i, "email", "user" + i + "@shareit.ru");
+            created.add(executor.submit(() -> client.post("/users", null, user).id()));
+        }
+        for (int i = 0; i < users.length; i++)
+            users[i] = created.get(i).get();
+    }
+
+    private long[] seedRequests(GatewayClient client, ExecutorService executor, Random random, int count)
+            throws Exception {
+        List<Future<Long>> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long requestor = users[owners.length + random.nextInt(users.length - owners.length)];
+            Map<String, Object> request = Map.of("description", "need a " + word(random, ADJECTIVES) + " "
+                    + word(random, NOUNS) + " for a weekend");
+            created.add(executor.submit(() -> client.post("/requests", requestor, request).id()));
+        }
+        long[] requests = new long[count];
+        for (int i = 0; i < count; i++)
+            requests[i] = created.get(i).get();
+        return requests;
+    }
+
+    //    every fourth item answers a request
+    private void seedItems(GatewayClient client, ExecutorService executor, Random random, long[] requests)
+            throws Exception {
+        List<Future<Long>> created = new ArrayList<>();
+        for (int i = 0; i < items.length; i++) {
+            String noun = word(random, NOUNS);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", capitalize(noun) + " " + i);
+            item.put("description", capitalize(word(random, ADJECTIVES)) + " " + noun + ", ask before picking up");
+            item.put("available", true);
+            if (i % 4 == 0 && requests.length > 0)
+                item.put("requestId", requests[random.nextInt(requests.length)]);
+            itemOwners[i] = owners[i % owners.length];
+            long owner = itemOwners[i];
+            created.add(executor.submit(() -> client.post("/items", owner, item).id()));
+        }
+        for (int i = 0; i < items.length; i++)
+            items[i] = created.get(i).get();
+    }
+
+    //    half of the bookings get approved by their owners, the rest wait for the approve scenario
+    private void seedBookings(GatewayClient client, ExecutorService executor, Random random, int count)
+            throws Exception {
+        List<Future<?>> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int item = random.nextInt(items.length);
+            long booker = booker(random, item);
+            boolean approve = i % 2 == 0;
+            created.add(executor.submit(() -> {
+                long booking = client.post("/bookings", booker, booking(item)).id();
+                if (approve)
+                    client.patch("/bookings/" + booking + "?approved=true", itemOwners[item]).id();
+                else
+                    waitingBookings.add(new long[]{booking, itemOwners[item]});
+                return null;
+            }));
+        }
+        for (Future<?> booking : created)
+            booking.get();
+    }
+
+    Map<String, Object> booking(int item) {
+        LocalDateTime start = firstSlot.plusDays(3L * itemSlots[item].getAndIncrement());
+        Map<String, Object> booking = new LinkedHashMap<>();
+        booking.put("itemId", items[item]);
+        booking.put("start", start);
+        booking.put("end", start.plusDays(2));
+        return booking;
+    }
+
+    int item(Random random) {
+        return random.nextInt(items.length);
+    }
+
+    long itemOwner(int item) {
+        return itemOwners[item];
+    }
+
+    //    anyone but the owner of the item
+    long booker(Random random, int item) {
+        int index = random.nextInt(users.length);
+        return users[index] == itemOwners[item] ? users[(index + 1) % users.length] : users[index];
+    }
+
+    long user(Random random) {
+        return users[random.nextInt(users.length)];
+    }
+
+    long owner(Random random) {
+        return owners[random.nextInt(owners.length)];
+    }
+
+    String searchText(Random random) {
+        return word(random, random.nextBoolean() ? NOUNS : ADJECTIVES);
+    }
+
+    void addWaitingBooking(long booking, long owner) {
+        waitingBookings.add(new long[]{booking, owner});
+    }
+
+    //    booking id and owner id, null once all waiting bookings are decided
+    long[] pollWaitingBooking() {
+        return waitingBookings.poll();
+    }
+
+    private static String word(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.loadtest;
+
+import org.springframework.boot.loader.LaunchedURLClassLoader;
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.JarFileArchive;
+import org.springframework.boot.loader.jar.JarFile;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+//    a Spring Boot executable jar started inside this JVM, the way JarLauncher would start it,
+//    but under a classloader whose parent is the platform loader, so two applications never see each other's classes
+class EmbeddedApplication implements AutoCloseable {
+    private static final String CLASSES = "BOOT-INF/classes/";
+    private static final String LIB = "BOOT-INF/lib/";
+
+    private final String name;
+    private final AutoCloseable context;
+
+    private EmbeddedApplication(String name, AutoCloseable context) {
+        this.name = name;
+        this.context = context;
+    }
+
+    static EmbeddedApplication start(String name, Path jar, String... args) throws Exception {
+        JarFile.registerUrlProtocolHandler();
+        JarFileArchive archive = new JarFileArchive(jar.toFile());
+        String startClass = archive.getManifest().getMainAttributes().getValue("Start-Class");
+        if (startClass == null)
+            throw new IllegalArgumentException(jar + " is not a Spring Boot executable jar");
+
+        List<URL> urls = new ArrayList<>();
+        Iterator<Archive> nested = archive.getNestedArchives(entry -> entry.getName().startsWith("BOOT-INF/"),
+                entry -> entry.isDirectory() ? entry.getName().equals(CLASSES) : entry.getName().startsWith(LIB));
+        while (nested.hasNext())
+            urls.add(nested.next().getUrl());
+        ClassLoader classLoader = new LaunchedURLClassLoader(urls.toArray(new URL[0]),
+                ClassLoader.getPlatformClassLoader());
+
+        disableTomcatUrlHandlers(classLoader);
+
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            Class<?> application = Class.forName("org.springframework.boot.SpringApplication", true, classLoader);
+            Object context = application.getMethod("run", Class.class, String[].class)
+                    .invoke(null, Class.forName(startClass, true, classLoader), args);
+            return new EmbeddedApplication(name, (AutoCloseable) context);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    //    the url stream handler factory is one per JVM, the second Tomcat to claim it would fail to start;
+    //    embedded Tomcat only needs it for war: urls
+    private static void disableTomcatUrlHandlers(ClassLoader classLoader) throws ReflectiveOperationException {
+        try {
+            Class.forName("org.apache.catalina.webresources.TomcatURLStreamHandlerFactory", true, classLoader)
+                    .getMethod("disable")
+                    .invoke(null);
+        } catch (ClassNotFoundException e) {
+            //    not a Tomcat application
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            context.close();
+        } catch (Exception e) {
+            System.err.println("Failed to stop " + name + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+//    json over http to the gateway, the way an API consumer talks to it
+class GatewayClient {
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final String baseUrl;
+
+    GatewayClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    Response get(String path, Long userId) throws IOException, InterruptedException {
+        return send("GET", path, userId, null);
+    }
+
+    Response post(String path, Long userId, Object body) throws IOException, InterruptedException {
+        return send("POST", path, userId, body);
+    }
+
+    Response patch(String path, Long userId) throws IOException, InterruptedException {
+        return send("PATCH", path, userId, null);
+    }
+
+    private Response send(String method, String path, Long userId, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (userId != null)
+            request.header("X-Sharer-User-Id", String.valueOf(userId));
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    boolean isUp() {
+        try {
+            return get("/actuator/health", null).isOk();
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    class Response {
+        private final int status;
+        private final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        boolean isOk() {
+            return status >= 200 && status < 300;
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        //    the id of a created entity, failing loudly, seeding cannot go on without it
+        long id() throws IOException {
+            if (!isOk())
+                throw new IllegalStateException("Expected a created entity, got " + status + ": " + new String(body));
+            JsonNode id = objectMapper.readTree(body).get("id");
+            if (id == null)
+                throw new IllegalStateException("No id in " + new String(body));
+            return id.asLong();
+        }
+    }
+}
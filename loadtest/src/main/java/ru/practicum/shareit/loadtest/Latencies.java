@@ -0,0 +1,48 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+//    every latency of one scenario, kept whole so percentiles are exact; one instance per worker, merged afterwards
+class Latencies {
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long elapsedNanos, boolean ok) {
+        if (count == nanos.length)
+            nanos = Arrays.copyOf(nanos, count * 2);
+        nanos[count++] = elapsedNanos;
+        if (!ok)
+            errors++;
+    }
+
+    void addAll(Latencies other) {
+        if (count + other.count > nanos.length)
+            nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getErrors() {
+        return errors;
+    }
+
+    //    nearest-rank percentiles in milliseconds, in the order asked
+    double[] percentilesMs(double... percentiles) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (count == 0)
+                continue;
+            int rank = (int) Math.min(count - 1, Math.max(0, Math.ceil(percentiles[i] * count) - 1));
+            result[i] = sorted[rank] / 1e6;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,206 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//    Boots the server on the in-memory H2 of the test profile and the gateway in front of it, both inside this JVM,
+//    seeds a synthetic dataset through the gateway and runs a weighted mix of scenarios against it from
+//    a fixed number of closed-loop clients. Throughput and p50/p99/p999 latency per endpoint go to stdout
+//    and to a json report whose layout stays the same between runs, so two reports can be diffed.
+//
+//    mvn -B package -DskipTests
+//    java -jar loadtest/target/shareit-loadtest-0.0.1-SNAPSHOT.jar --concurrency=16 --duration=30 \
+//        [--users=200 --items=1000 --requests=200 --bookings=2000 --seed=42] [--gateway-mode=reactive] \
+//        [--mix=create-booking:15,approve-booking:10,owner-items:15,owner-bookings:15,search:30,requests-feed:15] \
+//        [--report=loadtest-report.json]
+public class LoadTest {
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999, 1.0};
+
+    private final Options options;
+    private final GatewayClient client;
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+
+    LoadTest(Options options) {
+        this.options = options;
+        this.client = new GatewayClient("http://localhost:" + options.getGatewayPort());
+        this.scenarios = options.getMix().keySet().toArray(new Scenario[0]);
+        this.cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += options.getMix().get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        LoadTest loadTest = new LoadTest(options);
+
+        try (EmbeddedApplication server = EmbeddedApplication.start("server", options.getServerJar(),
+                "--spring.profiles.active=test",
+                "--server.port=" + options.getServerPort(),
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.orm.jpa=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                "--logging.level.org.springframework.transaction=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN");
+             EmbeddedApplication gateway = EmbeddedApplication.start("gateway", options.getGatewayJar(),
+                     "--spring.profiles.active=" + (options.isReactiveGateway() ? "reactive" : "default"),
+                     "--server.port=" + options.getGatewayPort(),
+                     "--shareit-server.url=http://localhost:" + options.getServerPort(),
+                     "--logging.level.root=WARN",
+                     "--logging.level.org.springframework.web.client.RestTemplate=WARN")) {
+            if (!loadTest.client.isUp())
+                throw new IllegalStateException("The gateway does not answer on port " + options.getGatewayPort());
+
+            long seeding = System.nanoTime();
+            Dataset dataset = Dataset.seed(loadTest.client, options);
+            System.out.printf("%nSeeded %d users, %d items, %d requests and %d bookings in %.1f s%n",
+                    options.getUsers(), options.getItems(), options.getRequests(), options.getBookings(),
+                    (System.nanoTime() - seeding) / 1e9);
+
+            loadTest.run(dataset, options.getWarmupSeconds());
+            Map<Scenario, Latencies> results = loadTest.run(dataset, options.getDurationSeconds());
+
+            loadTest.print(results);
+            loadTest.writeReport(results);
+        }
+        System.exit(0);
+    }
+
+    //    every client picks a scenario by weight, waits for the answer and picks the next one
+    private Map<Scenario, Latencies> run(Dataset dataset, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Map<Scenario, Latencies>> perClient = new ArrayList<>();
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < options.getConcurrency(); i++) {
+            Map<Scenario, Latencies> latencies = new EnumMap<>(Scenario.class);
+            Random random = new Random(options.getSeed() + i);
+            perClient.add(latencies);
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline)
+                    call(pick(random), dataset, random, latencies);
+            }, "load-client-" + i);
+            clients.add(thread);
+            thread.start();
+        }
+        for (Thread thread : clients)
+            thread.join();
+
+        Map<Scenario, Latencies> merged = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : scenarios)
+            merged.put(scenario, new Latencies());
+        for (Map<Scenario, Latencies> latencies : perClient)
+            latencies.forEach((scenario, clientLatencies) -> merged.get(scenario).addAll(clientLatencies));
+        return merged;
+    }
+
+    private void call(Scenario scenario, Dataset dataset, Random random, Map<Scenario, Latencies> latencies) {
+        long started = System.nanoTime();
+        boolean ok;
+        try {
+            GatewayClient.Response response = scenario.run(client, dataset, random);
+            if (response == null)
+                return;
+            ok = response.isOk();
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        latencies.computeIfAbsent(scenario, s -> new Latencies()).record(System.nanoTime() - started, ok);
+    }
+
+    private Scenario pick(Random random) {
+        int weight = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (weight < cumulativeWeights[i])
+                return scenarios[i];
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    private void print(Map<Scenario, Latencies> results) {
+        System.out.printf("%n%d clients for %d s, gateway in %s mode%n", options.getConcurrency(),
+                options.getDurationSeconds(), options.isReactiveGateway() ? "reactive" : "servlet");
+        System.out.printf("%-16s %-28s %10s %8s %12s %9s %9s %9s %9s%n", "scenario", "endpoint", "requests",
+                "errors", "requests/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        results.forEach((scenario, latencies) -> {
+            double[] percentiles = latencies.percentilesMs(PERCENTILES);
+            System.out.printf("%-16s %-28s %10d %8d %12.1f %9.2f %9.2f %9.2f %9.2f%n", scenario.getId(),
+                    scenario.getEndpoint(), latencies.getCount(), latencies.getErrors(),
+                    (double) latencies.getCount() / options.getDurationSeconds(),
+                    percentiles[0], percentiles[1], percentiles[2], percentiles[3]);
+        });
+    }
+
+    //    keys in a fixed order and numbers rounded, so that a diff of two reports shows only what changed
+    private void writeReport(Map<Scenario, Latencies> results) throws IOException {
+        Map<String, Object> dataset = new LinkedHashMap<>();
+        dataset.put("users", options.getUsers());
+        dataset.put("items", options.getItems());
+        dataset.put("requests", options.getRequests());
+        dataset.put("bookings", options.getBookings());
+        dataset.put("seed", options.getSeed());
+
+        Map<String, Object> mix = new LinkedHashMap<>();
+        options.getMix().forEach((scenario, weight) -> mix.put(scenario.getId(), weight));
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("gatewayMode", options.isReactiveGateway() ? "reactive" : "servlet");
+        config.put("concurrency", options.getConcurrency());
+        config.put("warmupSeconds", options.getWarmupSeconds());
+        config.put("durationSeconds", options.getDurationSeconds());
+        config.put("dataset", dataset);
+        config.put("mix", mix);
+
+        Latencies total = new Latencies();
+        Map<String, Object> scenarioReports = new LinkedHashMap<>();
+        results.forEach((scenario, latencies) -> {
+            total.addAll(latencies);
+            scenarioReports.put(scenario.getId(), endpointReport(scenario.getEndpoint(), latencies));
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("scenarios", scenarioReports);
+        report.put("total", endpointReport(null, total));
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(options.getReport().toFile(), report);
+        System.out.printf("%nReport written to %s%n", options.getReport().toAbsolutePath());
+    }
+
+    private Map<String, Object> endpointReport(String endpoint, Latencies latencies) {
+        double[] percentiles = latencies.percentilesMs(PERCENTILES);
+        Map<String, Object> latencyMs = new LinkedHashMap<>();
+        latencyMs.put("p50", round(percentiles[0]));
+        latencyMs.put("p99", round(percentiles[1]));
+        latencyMs.put("p999", round(percentiles[2]));
+        latencyMs.put("max", round(percentiles[3]));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        if (endpoint != null)
+            report.put("endpoint", endpoint);
+        report.put("requests", latencies.getCount());
+        report.put("errors", latencies.getErrors());
+        report.put("throughput", round((double) latencies.getCount() / options.getDurationSeconds()));
+        report.put("latencyMs", latencyMs);
+        return report;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+//    --name=value command line options, everything has a default
+class Options {
+    private final Path serverJar;
+    private final Path gatewayJar;
+    private final int serverPort;
+    private final int gatewayPort;
+    private final boolean reactiveGateway;
+    private final int users;
+    private final int items;
+    private final int requests;
+    private final int bookings;
+    private final long seed;
+    private final int concurrency;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final Map<Scenario, Integer> mix;
+    private final Path report;
+
+    Options(String[] args) {
+        serverJar = Path.of(option(args, "server-jar", "loadtest/target/apps/shareit-server-exec.jar"));
+        gatewayJar = Path.of(option(args, "gateway-jar", "loadtest/target/apps/shareit-gateway-exec.jar"));
+        serverPort = Integer.parseInt(option(args, "server-port", "19090"));
+        gatewayPort = Integer.parseInt(option(args, "gateway-port", "18080"));
+        reactiveGateway = option(args, "gateway-mode", "servlet").equals("reactive");
+        users = Integer.parseInt(option(args, "users", "200"));
+        items = Integer.parseInt(option(args, "items", "1000"));
+        requests = Integer.parseInt(option(args, "requests", "200"));
+        bookings = Integer.parseInt(option(args, "bookings", "2000"));
+        seed = Long.parseLong(option(args, "seed", "42"));
+        concurrency = Integer.parseInt(option(args, "concurrency", "16"));
+        warmupSeconds = Integer.parseInt(option(args, "warmup", "10"));
+        durationSeconds = Integer.parseInt(option(args, "duration", "30"));
+        mix = mix(option(args, "mix", null));
+        report = Path.of(option(args, "report", "loadtest-report.json"));
+
+        if (users < 2 || items < 1)
+            throw new IllegalArgumentException("At least 2 users and 1 item are needed");
+    }
+
+    //    create-booking:15,search:30,... scenarios left out of the list do not run
+    private static Map<Scenario, Integer> mix(String value) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        if (value == null) {
+            for (Scenario scenario : Scenario.values())
+                mix.put(scenario, scenario.getDefaultWeight());
+            return mix;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(Scenario.fromId(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "="))
+                return arg.substring(name.length() + 3);
+        }
+        return defaultValue;
+    }
+
+    Path getServerJar() {
+        return serverJar;
+    }
+
+    Path getGatewayJar() {
+        return gatewayJar;
+    }
+
+    int getServerPort() {
+        return serverPort;
+    }
+
+    int getGatewayPort() {
+        return gatewayPort;
+    }
+
+    boolean isReactiveGateway() {
+        return reactiveGateway;
+    }
+
+    int getUsers() {
+        return users;
+    }
+
+    int getItems() {
+        return items;
+    }
+
+    int getRequests() {
+        return requests;
+    }
+
+    int getBookings() {
+        return bookings;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    Map<Scenario, Integer> getMix() {
+        return mix;
+    }
+
+    Path getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.util.Random;
+
+//    one call to a real gateway endpoint with the parameters a client would send;
+//    the weights are the default share of each scenario in the mix
+enum Scenario {
+    CREATE_BOOKING("create-booking", "POST /bookings", 15) {
+        @Override
+        GatewayClient.Response run(GatewayClient client, Dataset dataset, Random random)
+                throws IOException, InterruptedException {
+            int item = dataset.item(random);
+            GatewayClient.Response response = client.post("/bookings", dataset.booker(random, item),
+                    dataset.booking(item));
+            if (response.isOk())
+                dataset.addWaitingBooking(response.id(), dataset.itemOwner(item));
+            return response;
+        }
+    },
+    APPROVE_BOOKING("approve-booking", "PATCH /bookings/{bookingId}", 10) {
+        @Override
+        GatewayClient.Response run(GatewayClient client, Dataset dataset, Random random)
+                throws IOException, InterruptedException {
+            long[] booking = dataset.pollWaitingBooking();
+            if (booking == null)
+                return null;
+            return client.patch("/bookings/" + booking[0] + "?approved=" + (random.nextInt(4) > 0), booking[1]);
+        }
+    },
+    OWNER_ITEMS("owner-items", "GET /items", 15) {
+        @Override
+        GatewayClient.Response run(GatewayClient client, Dataset dataset, Random random)
+                throws IOException, InterruptedException {
+            return client.get("/items?from=0&size=20", dataset.owner(random));
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings", "GET /bookings/owner", 15) {
+        @Override
+        GatewayClient.Response run(GatewayClient client, Dataset dataset, Random random)
+                throws IOException, InterruptedException {
+            return client.get("/bookings/owner?state=ALL&from=0&size=20", dataset.owner(random));
+        }
+    },
+    SEARCH("search", "GET /items/search", 30) {
+        @Override
+        GatewayClient.Response run(GatewayClient client, Dataset dataset, Random random)
+                throws IOException, InterruptedException {
+            return client.get("/items/search?text=" + dataset.searchText(random) + "&from=0&size=20",
+                    dataset.user(random));
+        }
+    },
+    REQUESTS_FEED("requests-feed", "GET /requests/all", 15) {
+        @Override
+        GatewayClient.Response run(GatewayClient client, Dataset dataset, Random random)
+                throws IOException, InterruptedException {
+            return client.get("/requests/all?from=0&size=20", dataset.user(random));
+        }
+    };
+
+    private final String id;
+    private final String endpoint;
+    private final int defaultWeight;
+
+    Scenario(String id, String endpoint, int defaultWeight) {
+        this.id = id;
+        this.endpoint = endpoint;
+        this.defaultWeight = defaultWeight;
+    }
+
+    //    null when there is nothing to do, e.g. no booking is waiting for a decision
+    abstract GatewayClient.Response run(GatewayClient client, Dataset dataset, Random random)
+            throws IOException, InterruptedException;
+
+    String getId() {
+        return id;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    static Scenario fromId(String id) {
+        for (Scenario scenario : values()) {
+            if (scenario.id.equals(id))
+                return scenario;
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + id);
+    }
+}
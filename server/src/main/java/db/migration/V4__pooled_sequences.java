@@ -0,0 +1,44 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+//    replaces identity columns by sequences that Hibernate reads once per ALLOCATION_SIZE ids,
+//    so inserts no longer wait for a generated key and can be sent in JDBC batches
+public class V4__pooled_sequences extends BaseJavaMigration {
+    private static final int ALLOCATION_SIZE = 50;
+
+    //    table, id column, sequence
+    private static final String[][] ID_COLUMNS = {
+            {"users", "user_id", "users_seq"},
+            {"requests", "request_id", "requests_seq"},
+            {"items", "item_id", "items_seq"},
+            {"bookings", "booking_id", "bookings_seq"},
+            {"comments", "comment_id", "comments_seq"}
+    };
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String[] idColumn : ID_COLUMNS) {
+                long maxId;
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT COALESCE(MAX(" + idColumn[1] + "), 0) FROM " + idColumn[0])) {
+                    resultSet.next();
+                    maxId = resultSet.getLong(1);
+                }
+
+                //    the pooled optimizer takes a fetched value v as the last id of the block
+                //    (v - ALLOCATION_SIZE, v], so the first block has to start after the existing ids
+                long start = maxId == 0 ? 1 : maxId + ALLOCATION_SIZE;
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + idColumn[2] +
+                        " START WITH " + start + " INCREMENT BY " + ALLOCATION_SIZE);
+                statement.execute("ALTER TABLE " + idColumn[0] + " ALTER COLUMN " + idColumn[1] + " DROP IDENTITY");
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+public class ResourceVersion {
+    private static final int MAX_TAG_LENGTH = 256;
+
+    private final StringBuilder tag = new StringBuilder();
+
+    private LocalDateTime lastModified;
+
+    private boolean timeDependent;
+
+    //    adds one row the response is built from, e.g. with("i", item.getId(), item.getVersion(), item.getUpdated())
+    public ResourceVersion with(String kind, Long id, Long version, LocalDateTime updated) {
+        tag.append(kind).append(id);
+        if (version != null)
+            tag.append('v').append(version);
+        tag.append('.');
+        if (updated != null && (lastModified == null || updated.isAfter(lastModified)))
+            lastModified = updated;
+        return this;
+    }
+
+    //    the response also depends on the current time, e.g. which bookings of an item are the last and the next:
+    //    no modification time changes when that moves on, so only the entity tag can validate the response
+    public ResourceVersion timeDependent() {
+        timeDependent = true;
+        return this;
+    }
+
+    //    the same rows rendered as v1 and v2 get different entity tags; a long list of rows, e.g. every booking
+    //    of an item, is sent as its digest, so the tag still fits into the If-None-Match header of the next request
+    public String getEtag(String representation) {
+        return "\"" + representation + "." + (tag.length() <= MAX_TAG_LENGTH ? tag : digest(tag)) + "\"";
+    }
+
+    private static String digest(CharSequence tag) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(tag.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    public long getLastModified() {
+        if (lastModified == null || timeDependent)
+            return -1;
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
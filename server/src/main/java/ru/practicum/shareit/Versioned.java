@@ -0,0 +1,13 @@
+package ru.practicum.shareit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+//    a response body with the version of the rows it is built from, both from the same reads
+@Getter
+@RequiredArgsConstructor
+public class Versioned<T> {
+    private final T body;
+
+    private final ResourceVersion version;
+}
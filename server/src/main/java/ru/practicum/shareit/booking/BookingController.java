@@ -2,18 +2,31 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.ApiMediaType;
+import ru.practicum.shareit.Versioned;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCompactDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(path = "/bookings")
 @Slf4j
 public class BookingController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -24,6 +37,22 @@ public class BookingController {
         return bookingService.add(bookingDtoInput, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> bookItems(@RequestBody List<BookingDtoInput> bookingDtoInputs,
+                                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("POST /bookings/batch, {} bookings", bookingDtoInputs.size());
+
+        return bookingService.addBatch(bookingDtoInputs, userId);
+    }
+
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> decideBatch(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("PATCH /bookings/batch, {} decisions", decisions.size());
+
+        return bookingService.decideBatch(decisions, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto setApproveById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                      @PathVariable Long bookingId,
@@ -34,29 +63,92 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public BookingDto getById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long bookingId) {
+    public BookingDto getById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long bookingId,
+                              WebRequest webRequest) {
         log.info("GET /bookings/{}", bookingId);
 
-        return bookingService.getById(bookingId, userId);
+        Versioned<BookingDto> booking = bookingService.getById(bookingId, userId);
+        if (webRequest.checkNotModified(booking.getVersion().getEtag(ApiMediaType.V1),
+                booking.getVersion().getLastModified()))
+            return null;
+        return booking.getBody();
+    }
+
+    @GetMapping(value = "/{bookingId}", produces = ApiMediaType.V2_JSON)
+    public BookingCompactDto getCompactById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @PathVariable Long bookingId,
+                                            WebRequest webRequest) {
+        log.info("GET /bookings/{} (v2)", bookingId);
+
+        Versioned<BookingCompactDto> booking = bookingService.getCompactById(bookingId, userId);
+        if (webRequest.checkNotModified(booking.getVersion().getEtag(ApiMediaType.V2),
+                booking.getVersion().getLastModified()))
+            return null;
+        return booking.getBody();
     }
 
     @GetMapping
-    public List<BookingDto> getByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                        @RequestParam BookingState state,
-                                        @RequestParam Integer from,
-                                        @RequestParam Integer size) {
+    public ResponseEntity<List<BookingDto>> getByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @RequestParam BookingState state,
+                                                        @RequestParam Integer from,
+                                                        @RequestParam Integer size,
+                                                        @RequestParam(required = false) String cursor) {
         log.info("GET /bookings?state={}", state);
 
-        return bookingService.getByUserId(userId, state, from, size);
+        List<BookingDto> bookings = bookingService.getByUserId(userId, state, from, size, cursor);
+        return ResponseEntity.ok().headers(nextCursorHeaders(bookings, size, BookingDto::getStart, BookingDto::getId))
+                .body(bookings);
+    }
+
+    @GetMapping(produces = ApiMediaType.V2_JSON)
+    public ResponseEntity<List<BookingCompactDto>> getCompactByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                      @RequestParam BookingState state,
+                                                                      @RequestParam Integer from,
+                                                                      @RequestParam Integer size,
+                                                                      @RequestParam(required = false) String cursor) {
+        log.info("GET /bookings?state={} (v2)", state);
+
+        List<BookingCompactDto> bookings = bookingService.getCompactByUserId(userId, state, from, size, cursor);
+        return ResponseEntity.ok()
+                .headers(nextCursorHeaders(bookings, size, BookingCompactDto::getStart, BookingCompactDto::getId))
+                .body(bookings);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getByItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @RequestParam String state,
-                                               @RequestParam Integer from,
-                                               @RequestParam Integer size) {
+    public ResponseEntity<List<BookingDto>> getByItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam String state,
+                                                               @RequestParam Integer from,
+                                                               @RequestParam Integer size,
+                                                               @RequestParam(required = false) String cursor) {
         log.info("GET /bookings/owner?state={}", state);
 
-        return bookingService.getByItemsByUserId(userId, state, from, size);
+        List<BookingDto> bookings = bookingService.getByItemsByUserId(userId, state, from, size, cursor);
+        return ResponseEntity.ok().headers(nextCursorHeaders(bookings, size, BookingDto::getStart, BookingDto::getId))
+                .body(bookings);
+    }
+
+    @GetMapping(value = "/owner", produces = ApiMediaType.V2_JSON)
+    public ResponseEntity<List<BookingCompactDto>> getCompactByItemsByUserId(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam String state,
+            @RequestParam Integer from,
+            @RequestParam Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /bookings/owner?state={} (v2)", state);
+
+        List<BookingCompactDto> bookings = bookingService.getCompactByItemsByUserId(userId, state, from, size, cursor);
+        return ResponseEntity.ok()
+                .headers(nextCursorHeaders(bookings, size, BookingCompactDto::getStart, BookingCompactDto::getId))
+                .body(bookings);
+    }
+
+    private static <T> HttpHeaders nextCursorHeaders(List<T> bookings, Integer size,
+                                                     Function<T, LocalDateTime> start, Function<T, Long> id) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            T last = bookings.get(bookings.size() - 1);
+            headers.set(NEXT_CURSOR_HEADER, new BookingCursor(start.apply(last), id.apply(last)).encode());
+        }
+        return headers;
     }
 }
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.exception.BookingCursorIsIncorrectException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+//    opaque position in a booking list ordered by (start desc, id desc)
+@Getter
+@RequiredArgsConstructor
+public class BookingCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime start;
+
+    private final Long id;
+
+    public String encode() {
+        String position = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = position.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0)
+                throw new BookingCursorIsIncorrectException("cursor " + cursor + " is incorrect");
+            return new BookingCursor(LocalDateTime.parse(position.substring(0, separatorIndex)),
+                    Long.parseLong(position.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BookingCursorIsIncorrectException("cursor " + cursor + " is incorrect");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+public enum BookingDecisionOutcome {
+    APPROVED,
+    REJECTED,
+    ALREADY_APPROVED,
+    ALREADY_REJECTED,
+    ALREADY_CANCELLED,
+    //    the booking left WAITING between the check and the update
+    CHANGED_CONCURRENTLY,
+    NOT_OWNER,
+    NOT_FOUND
+}
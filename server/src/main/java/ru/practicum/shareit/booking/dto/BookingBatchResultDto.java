@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+
+//    outcome of one entry of a batch: the created booking, or the status and message it was refused with
+@Data
+public class BookingBatchResultDto {
+    private Integer index;
+
+    private Integer status;
+
+    private BookingDto booking;
+
+    private String error;
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BookingCompactDto {
+    private Long id;
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    private ItemShortDto item;
+
+    private UserShortDto booker;
+
+    private BookingStatus status;
+}
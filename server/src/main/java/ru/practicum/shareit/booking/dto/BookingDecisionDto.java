@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Data;
+
+@Data
+public class BookingDecisionDto {
+    private Long bookingId;
+
+    private Boolean approved;
+}
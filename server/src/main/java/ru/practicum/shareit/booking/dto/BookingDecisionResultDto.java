@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.BookingStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionResultDto {
+    private Long bookingId;
+
+    private BookingDecisionOutcome outcome;
+
+    private BookingStatus status;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.BookingStatus;
+
+//    what an owner's decision on a booking depends on, read without loading the booking
+@Getter
+@RequiredArgsConstructor
+public class BookingDecisionTarget {
+    private final Long bookingId;
+
+    private final Long itemId;
+
+    private final Long ownerId;
+
+    private final BookingStatus status;
+}
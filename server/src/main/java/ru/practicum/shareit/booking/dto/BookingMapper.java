@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking.dto;
 
+import org.springframework.http.HttpStatus;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -22,6 +25,29 @@ public class BookingMapper {
         return bookingDto;
     }
 
+    public static BookingShortDto toBookingShortDto(Booking booking) {
+        if (booking == null)
+            return null;
+        BookingShortDto bookingShortDto = new BookingShortDto();
+        bookingShortDto.setId(booking.getId());
+        bookingShortDto.setBookerId(booking.getBooker().getId());
+        bookingShortDto.setStart(booking.getStart());
+        bookingShortDto.setEnd(booking.getEnd());
+        bookingShortDto.setStatus(booking.getStatus());
+        return bookingShortDto;
+    }
+
+    public static BookingCompactDto toBookingCompactDto(Booking booking) {
+        BookingCompactDto bookingCompactDto = new BookingCompactDto();
+        bookingCompactDto.setId(booking.getId());
+        bookingCompactDto.setStart(booking.getStart());
+        bookingCompactDto.setEnd(booking.getEnd());
+        bookingCompactDto.setItem(ItemMapper.toItemShortDto(booking.getItem()));
+        bookingCompactDto.setBooker(UserMapper.toUserShortDto(booking.getBooker()));
+        bookingCompactDto.setStatus(booking.getStatus());
+        return bookingCompactDto;
+    }
+
     public static Booking toBooking(BookingDtoInput bookingDtoInput, Item item, User user,
                                     BookingStatus status) {
         Booking booking = new Booking();
@@ -48,4 +74,20 @@ public class BookingMapper {
 
         return booking;
     }
+
+    public static BookingBatchResultDto toBookingBatchResultDto(int index, Booking booking) {
+        BookingBatchResultDto bookingBatchResultDto = new BookingBatchResultDto();
+        bookingBatchResultDto.setIndex(index);
+        bookingBatchResultDto.setStatus(HttpStatus.OK.value());
+        bookingBatchResultDto.setBooking(toBookingDto(booking));
+        return bookingBatchResultDto;
+    }
+
+    public static BookingBatchResultDto toBookingBatchResultDto(int index, HttpStatus status, String error) {
+        BookingBatchResultDto bookingBatchResultDto = new BookingBatchResultDto();
+        bookingBatchResultDto.setIndex(index);
+        bookingBatchResultDto.setStatus(status.value());
+        bookingBatchResultDto.setError(error);
+        return bookingBatchResultDto;
+    }
 }
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+//    [start, end) occupied on an item by a WAITING or APPROVED booking
+@Getter
+@RequiredArgsConstructor
+public class BookingInterval {
+    private final Long bookingId;
+
+    private final Long itemId;
+
+    private final Long bookerId;
+
+    private final LocalDateTime start;
+
+    private final LocalDateTime end;
+
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                booking.getStart(), booking.getEnd());
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return this.start.isBefore(end) && this.end.isAfter(start);
+    }
+}
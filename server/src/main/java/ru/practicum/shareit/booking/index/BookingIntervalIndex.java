@@ -0,0 +1,269 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingIntervalIsOccupiedException;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+//    WAITING and APPROVED intervals of every item that have not ended yet, kept in the memory of this server;
+//    ended intervals can't overlap a new booking and are dropped when the item is booked; bookings are admitted under
+//    its locks only, so two server instances over the same database can still admit overlapping bookings,
+//    the guarantee holds while a single instance writes bookings
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    public static final List<BookingStatus> OCCUPYING_STATUSES = List.of(BookingStatus.WAITING,
+            BookingStatus.APPROVED);
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, ItemIntervals> intervalsByItemId = new ConcurrentHashMap<>();
+
+    //    an item is always guarded by the same lock, so different items rarely wait for each other
+    private final ReadWriteLock[] locks = new ReadWriteLock[LOCK_STRIPES];
+
+    {
+        for (int i = 0; i < LOCK_STRIPES; i++)
+            locks[i] = new ReentrantReadWriteLock();
+    }
+
+    //    built before the web server starts, so no booking is admitted against an empty index
+    @PostConstruct
+    public void build() {
+        LocalDateTime now = LocalDateTime.now();
+        long lastId = 0L;
+        long count = 0L;
+        List<BookingInterval> intervals = bookingRepository.getIntervalsByIdGreaterThan(lastId, OCCUPYING_STATUSES,
+                now, PageRequest.of(0, LOAD_BATCH_SIZE));
+        while (!intervals.isEmpty()) {
+            intervals.forEach(interval -> intervalsByItemId.computeIfAbsent(interval.getItemId(),
+                    itemId -> new ItemIntervals()).put(interval));
+            count += intervals.size();
+            lastId = intervals.get(intervals.size() - 1).getBookingId();
+            intervals = bookingRepository.getIntervalsByIdGreaterThan(lastId, OCCUPYING_STATUSES, now,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+        }
+        log.info("booking interval index built, {} bookings of {} items indexed", count, intervalsByItemId.size());
+    }
+
+    //    saves the booking only if [start, end) of the item is free, no other booking of the item is admitted meanwhile
+    public Booking admit(Long itemId, LocalDateTime start, LocalDateTime end, Supplier<Booking> save) {
+        Lock lock = lockOf(itemId).writeLock();
+        lock.lock();
+        try {
+            removeEnded(itemId, LocalDateTime.now());
+            BookingInterval conflict = findConflict(itemId, start, end);
+            if (conflict != null)
+                throw new BookingIntervalIsOccupiedException("item " + itemId + " is already booked from " +
+                        conflict.getStart() + " to " + conflict.getEnd() + " by booking " + conflict.getBookingId());
+
+            Booking booking = save.get();
+            intervalsByItemId.computeIfAbsent(itemId, key -> new ItemIntervals()).put(BookingInterval.of(booking));
+            return booking;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //    admits every booking whose interval is free, also of the bookings admitted before it in the list,
+    //    and saves the admitted ones at once while the items of the whole list are locked;
+    //    returns the conflicting interval of every refused booking and null for the admitted ones
+    public List<BookingInterval> admitAll(List<Booking> bookings, Consumer<List<Booking>> save) {
+        //    stripes are always locked in ascending order, so two batches can't wait for each other
+        List<Lock> batchLocks = bookings.stream()
+                .map(booking -> stripeOf(booking.getItem().getId()))
+                .distinct()
+                .sorted()
+                .map(stripe -> locks[stripe].writeLock())
+                .collect(Collectors.toList());
+        batchLocks.forEach(Lock::lock);
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            bookings.stream()
+                    .map(booking -> booking.getItem().getId())
+                    .distinct()
+                    .forEach(itemId -> removeEnded(itemId, now));
+            List<BookingInterval> conflicts = new ArrayList<>(bookings.size());
+            List<Booking> admitted = new ArrayList<>();
+            Map<Long, List<BookingInterval>> admittedByItemId = new HashMap<>();
+            for (Booking booking : bookings) {
+                Long itemId = booking.getItem().getId();
+                BookingInterval conflict = findConflict(itemId, booking.getStart(), booking.getEnd());
+                if (conflict == null)
+                    conflict = admittedByItemId.getOrDefault(itemId, List.of()).stream()
+                            .filter(interval -> interval.overlaps(booking.getStart(), booking.getEnd()))
+                            .findFirst()
+                            .orElse(null);
+                conflicts.add(conflict);
+                if (conflict == null) {
+                    admitted.add(booking);
+                    admittedByItemId.computeIfAbsent(itemId, key -> new ArrayList<>())
+                            .add(new BookingInterval(null, itemId, booking.getBooker().getId(), booking.getStart(),
+                                    booking.getEnd()));
+                }
+            }
+
+            if (!admitted.isEmpty()) {
+                save.accept(admitted);
+                admitted.forEach(booking -> intervalsByItemId.computeIfAbsent(booking.getItem().getId(),
+                        key -> new ItemIntervals()).put(BookingInterval.of(booking)));
+            }
+            return conflicts;
+        } finally {
+            batchLocks.forEach(Lock::unlock);
+        }
+    }
+
+    //    keeps the booking while it is WAITING or APPROVED and drops it otherwise
+    public void update(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        if (!OCCUPYING_STATUSES.contains(booking.getStatus())) {
+            remove(itemId, booking.getId());
+            return;
+        }
+
+        Lock lock = lockOf(itemId).writeLock();
+        lock.lock();
+        try {
+            intervalsByItemId.computeIfAbsent(itemId, key -> new ItemIntervals()).put(BookingInterval.of(booking));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(Long itemId, Long bookingId) {
+        Lock lock = lockOf(itemId).writeLock();
+        lock.lock();
+        try {
+            Optional.ofNullable(intervalsByItemId.get(itemId)).ifPresent(intervals -> intervals.remove(bookingId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //    bookings of a deleted user are deleted by the database cascade
+    public void removeBooker(Long bookerId) {
+        intervalsByItemId.forEach((itemId, intervals) -> {
+            Lock lock = lockOf(itemId).writeLock();
+            lock.lock();
+            try {
+                intervals.removeBooker(bookerId);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Lock lock = lockOf(itemId).readLock();
+        lock.lock();
+        try {
+            return findConflict(itemId, start, end) == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //    bookings of the item overlapping [from, to), ordered by start
+    public List<BookingInterval> getOverlapping(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Lock lock = lockOf(itemId).readLock();
+        lock.lock();
+        try {
+            ItemIntervals intervals = intervalsByItemId.get(itemId);
+            if (intervals == null)
+                return new ArrayList<>();
+            return intervals.getOverlapping(from, to);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //    called under the write lock of the item
+    private void removeEnded(Long itemId, LocalDateTime now) {
+        ItemIntervals intervals = intervalsByItemId.get(itemId);
+        if (intervals != null)
+            intervals.removeEndedBefore(now);
+    }
+
+    private BookingInterval findConflict(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals intervals = intervalsByItemId.get(itemId);
+        if (intervals == null)
+            return null;
+        return intervals.findOverlapping(start, end);
+    }
+
+    private ReadWriteLock lockOf(Long itemId) {
+        return locks[stripeOf(itemId)];
+    }
+
+    private static int stripeOf(Long itemId) {
+        return Math.floorMod(Long.hashCode(itemId), LOCK_STRIPES);
+    }
+
+    private static class ItemIntervals {
+        private final IntervalTree tree = new IntervalTree();
+
+        private final Map<Long, BookingInterval> byBookingId = new HashMap<>();
+
+        //    earliest end first, to drop the ended intervals
+        private final NavigableSet<BookingInterval> byEnd = new TreeSet<>(
+                Comparator.comparing(BookingInterval::getEnd).thenComparing(BookingInterval::getBookingId));
+
+        void put(BookingInterval interval) {
+            remove(interval.getBookingId());
+            tree.add(interval);
+            byBookingId.put(interval.getBookingId(), interval);
+            byEnd.add(interval);
+        }
+
+        void remove(Long bookingId) {
+            BookingInterval interval = byBookingId.remove(bookingId);
+            if (interval != null) {
+                tree.remove(interval);
+                byEnd.remove(interval);
+            }
+        }
+
+        void removeBooker(Long bookerId) {
+            byBookingId.values().removeIf(interval -> {
+                if (!Objects.equals(interval.getBookerId(), bookerId))
+                    return false;
+                tree.remove(interval);
+                byEnd.remove(interval);
+                return true;
+            });
+        }
+
+        void removeEndedBefore(LocalDateTime now) {
+            while (!byEnd.isEmpty() && !byEnd.first().getEnd().isAfter(now))
+                remove(byEnd.first().getBookingId());
+        }
+
+        BookingInterval findOverlapping(LocalDateTime start, LocalDateTime end) {
+            return tree.findOverlapping(start, end);
+        }
+
+        List<BookingInterval> getOverlapping(LocalDateTime start, LocalDateTime end) {
+            return tree.getOverlapping(start, end);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.booking.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+//    intervals in a treap ordered by start, every node keeps the latest end of its subtree; a lookup skips
+//    the subtrees that end before the window and stops at the first start after it, so it costs
+//    O(log n + overlapping) however long or old the other intervals are
+class IntervalTree {
+    private static final Comparator<BookingInterval> BY_START = Comparator.comparing(BookingInterval::getStart)
+            .thenComparing(BookingInterval::getBookingId);
+
+    private Node root;
+
+    void add(BookingInterval interval) {
+        root = insert(root, new Node(interval, ThreadLocalRandom.current().nextInt()));
+    }
+
+    void remove(BookingInterval interval) {
+        root = delete(root, interval);
+    }
+
+    //    the first interval by start overlapping [start, end), or null
+    BookingInterval findOverlapping(LocalDateTime start, LocalDateTime end) {
+        List<BookingInterval> overlapping = new ArrayList<>(1);
+        collect(root, start, end, overlapping, true);
+        return overlapping.isEmpty() ? null : overlapping.get(0);
+    }
+
+    //    intervals overlapping [start, end), ordered by start
+    List<BookingInterval> getOverlapping(LocalDateTime start, LocalDateTime end) {
+        List<BookingInterval> overlapping = new ArrayList<>();
+        collect(root, start, end, overlapping, false);
+        return overlapping;
+    }
+
+    //    in-order walk, returns true once the first overlapping interval is found when only that one is needed
+    private static boolean collect(Node node, LocalDateTime start, LocalDateTime end,
+                                   List<BookingInterval> overlapping, boolean firstOnly) {
+        if (node == null || !node.maxEnd.isAfter(start))
+            return false;
+        if (collect(node.left, start, end, overlapping, firstOnly))
+            return true;
+        //    this node and its right subtree start at or after the end of the window
+        if (!node.interval.getStart().isBefore(end))
+            return false;
+        if (node.interval.overlaps(start, end)) {
+            overlapping.add(node.interval);
+            if (firstOnly)
+                return true;
+        }
+        return collect(node.right, start, end, overlapping, firstOnly);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null)
+            return added;
+        if (added.priority > node.priority) {
+            split(node, added.interval, added);
+            return update(added);
+        }
+        if (BY_START.compare(added.interval, node.interval) < 0)
+            node.left = insert(node.left, added);
+        else
+            node.right = insert(node.right, added);
+        return update(node);
+    }
+
+    private static Node delete(Node node, BookingInterval interval) {
+        if (node == null)
+            return null;
+        int comparison = BY_START.compare(interval, node.interval);
+        if (comparison == 0)
+            return merge(node.left, node.right);
+        if (comparison < 0)
+            node.left = delete(node.left, interval);
+        else
+            node.right = delete(node.right, interval);
+        return update(node);
+    }
+
+    //    puts the nodes before the key into the left and the others into the right subtree of the parent
+    private static void split(Node node, BookingInterval key, Node parent) {
+        if (node == null) {
+            parent.left = null;
+            parent.right = null;
+            return;
+        }
+        if (BY_START.compare(node.interval, key) < 0) {
+            split(node.right, key, parent);
+            node.right = parent.left;
+            parent.left = update(node);
+        } else {
+            split(node.left, key, parent);
+            node.left = parent.right;
+            parent.right = update(node);
+        }
+    }
+
+    //    every node of the left tree comes before every node of the right one
+    private static Node merge(Node left, Node right) {
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        LocalDateTime maxEnd = node.interval.getEnd();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd))
+            maxEnd = node.left.maxEnd;
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd))
+            maxEnd = node.right.maxEnd;
+        node.maxEnd = maxEnd;
+        return node;
+    }
+
+    private static class Node {
+        private final BookingInterval interval;
+
+        private final int priority;
+
+        private Node left;
+
+        private Node right;
+
+        private LocalDateTime maxEnd;
+
+        Node(BookingInterval interval, int priority) {
+            this.interval = interval;
+            this.priority = priority;
+            this.maxEnd = interval.getEnd();
+        }
+    }
+}
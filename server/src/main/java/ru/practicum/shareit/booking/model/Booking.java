@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.UpdateTimestamp;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -13,11 +16,29 @@ import java.util.Objects;
 @Getter
 @Setter
 @RequiredArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
 @Table(name = "bookings", schema = "public")
+//    everything a booking renders: the item with its owner and request, and the booker
+@NamedEntityGraph(name = "Booking.details", attributeNodes = {
+        @NamedAttributeNode(value = "item", subgraph = "item"),
+        @NamedAttributeNode("booker")
+}, subgraphs = {
+        @NamedSubgraph(name = "item", attributeNodes = {
+                @NamedAttributeNode("owner"),
+                @NamedAttributeNode(value = "request", subgraph = "request")
+        }),
+        @NamedSubgraph(name = "request", attributeNodes = @NamedAttributeNode("requestor"))
+})
+//    a compact booking renders the names of the item and of the booker only
+@NamedEntityGraph(name = "Booking.compact", attributeNodes = {
+        @NamedAttributeNode("item"),
+        @NamedAttributeNode("booker")
+})
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @Column(name = "booking_id")
     private Long id;
 
@@ -27,11 +48,11 @@ public class Booking {
     @Column(name = "booking_end", nullable = false)
     private LocalDateTime end;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item", referencedColumnName = "item_id", nullable = false)
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker", referencedColumnName = "user_id", nullable = false)
     private User booker;
 
@@ -39,6 +60,16 @@ public class Booking {
     @Column(name = "booking_status", nullable = false)
     private BookingStatus status;
 
+    @JsonIgnore
+    @Version
+    @Column(name = "booking_version", nullable = false)
+    private Long version;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "booking_updated", nullable = false)
+    private LocalDateTime updated;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
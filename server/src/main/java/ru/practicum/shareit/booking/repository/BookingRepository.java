@@ -1,46 +1,91 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDecisionTarget;
+import ru.practicum.shareit.booking.index.BookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    //    get for getByUserId
-    List<Booking> findBookingsByBooker_IdAndStatusInOrderByStartDesc(Pageable pageable, Long id,
-                                                                     List<BookingStatus> state);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    @EntityGraph("Booking.details")
+    Optional<Booking> findById(Long id);
 
-    //    get CURRENT for getByUserId
-    @Query("select b from Booking b where b.booker.id = ?1 and b.status in ?2 " +
-            "and current_timestamp > b.start and current_timestamp < b.end order by b.start desc")
-    List<Booking> getCurrentByUserIdAndStatus(Pageable pageable, Long id, List<BookingStatus> state);
+    //    get last booking of an item, with a page of one
+    @EntityGraph(attributePaths = {"booker", "item"}, type = EntityGraph.EntityGraphType.LOAD)
+    @Query("select b from Booking b where b.item.id = ?1 and b.end < ?2 order by b.end desc")
+    List<Booking> getLastByItemId(Long itemId, LocalDateTime before, Pageable pageable);
 
-    //    get PAST for getByUserId
-    @Query("select b from Booking b where b.booker.id = ?1 and b.status in ?2 and b.end < current_timestamp " +
-            "order by b.start desc")
-    List<Booking> getPastByUserIdAndStatus(Pageable pageable, Long id, List<BookingStatus> state);
+    //    get next booking of an item, with a page of one
+    @EntityGraph(attributePaths = {"booker", "item"}, type = EntityGraph.EntityGraphType.LOAD)
+    @Query("select b from Booking b where b.item.id = ?1 and b.start > ?2 order by b.start asc")
+    List<Booking> getNextByItemId(Long itemId, LocalDateTime after, Pageable pageable);
 
+    //    every booking of a page of items, for the bookings field of v1 items
+    @EntityGraph("Booking.details")
+    @Query("select b from Booking b where b.item.id in ?1 order by b.id asc")
+    List<Booking> getBookingsByItemIdIn(Collection<Long> itemIds);
 
-    //    get for getByItemsByUserId
-    List<Booking> findBookingsByItem_Owner_IdAndStatusInOrderByStartDesc(Pageable pageable, Long userId,
-                                                                         List<BookingStatus> states);
+    //    get last bookings of a page of items
+    @Query("select b from Booking b join fetch b.booker where b.item.id in ?1 and b.end = " +
+            "(select max(lb.end) from Booking lb where lb.item.id = b.item.id and lb.end < ?2)")
+    List<Booking> getLastBookingsByItemIds(Collection<Long> itemIds, LocalDateTime before);
 
-    //    get CURRENT for getByItemsByUserId
-    @Query("select b from Booking b where b.item.owner.id = ?1 and b.status in ?2 " +
-            "and current_timestamp > b.start and current_timestamp < b.end order by b.start desc")
-    List<Booking> getCurrentByOwnerIdAndStatus(Pageable pageable, Long userId, List<BookingStatus> states);
+    //    get next bookings of a page of items
+    @Query("select b from Booking b join fetch b.booker where b.item.id in ?1 and b.start = " +
+            "(select min(nb.start) from Booking nb where nb.item.id = b.item.id and nb.start > ?2)")
+    List<Booking> getNextBookingsByItemIds(Collection<Long> itemIds, LocalDateTime after);
 
-    //    get PAST for getByItemsByUserId
-    @Query("select b from Booking b where b.item.owner.id = ?1 and b.status in ?2 and b.end < current_timestamp " +
-            "order by b.start desc")
-    List<Booking> getPastByOwnerIdAndStatus(Pageable pageable, Long userId, List<BookingStatus> states);
+    //    ids of matching bookings, read with a page of one by existsByBooker_IdAndItem_IdAndStatusAndEndBefore;
+    //    the booker and item ids are compared on the booking row, a derived query would join users and items for them
+    @Query("select b.id from Booking b where b.booker.id = ?1 and b.item.id = ?2 and b.status = ?3 and b.end < ?4")
+    List<Long> getIdsByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId, Long itemId, BookingStatus status,
+                                                              LocalDateTime before, Pageable pageable);
 
-    Set<Booking> getBookingsByItem_Id(Long itemId);
+    //    stops at the first matching booking instead of counting them all
+    default boolean existsByBooker_IdAndItem_IdAndStatusAndEndBefore(Long bookerId, Long itemId,
+                                                                     BookingStatus status, LocalDateTime before) {
+        return !getIdsByBookerIdAndItemIdAndStatusAndEndBefore(bookerId, itemId, status, before,
+                PageRequest.of(0, 1)).isEmpty();
+    }
 
-    List<Booking> getBookingsByBooker_IdAndEndBefore(Long userId, LocalDateTime before);
+    //    ownership and status of the bookings of a bulk decision
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDecisionTarget(b.id, i.id, i.owner.id, b.status) " +
+            "from Booking b join b.item i where b.id in ?1")
+    List<BookingDecisionTarget> getDecisionTargetsByIdIn(Collection<Long> bookingIds);
+
+    //    sets the status of those bookings that are still WAITING and belong to an item of the owner
+    @Transactional
+    @Modifying
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1, b.updated = :updated " +
+            "where b.id in :bookingIds and b.status = :waiting " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = :ownerId)")
+    int decideWaiting(@Param("bookingIds") Collection<Long> bookingIds, @Param("ownerId") Long ownerId,
+                      @Param("status") BookingStatus status, @Param("waiting") BookingStatus waiting,
+                      @Param("updated") LocalDateTime updated);
+
+    //    sets the status of a booking that was read before, unless it has been changed since
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1, b.updated = :updated " +
+            "where b.id = :bookingId and b.version = :version")
+    int setStatusByIdAndVersion(@Param("bookingId") Long bookingId, @Param("version") Long version,
+                                @Param("status") BookingStatus status, @Param("updated") LocalDateTime updated);
+
+    //    load intervals of the booking interval index, those that have not ended yet
+    @Query("select new ru.practicum.shareit.booking.index.BookingInterval(b.id, b.item.id, b.booker.id, b.start, " +
+            "b.end) from Booking b where b.id > ?1 and b.status in ?2 and b.end > ?3 order by b.id asc")
+    List<BookingInterval> getIntervalsByIdGreaterThan(Long id, List<BookingStatus> statuses, LocalDateTime after,
+                                                      Pageable pageable);
 }
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    String DETAILS_GRAPH = "Booking.details";
+
+    String COMPACT_GRAPH = "Booking.compact";
+
+    //    a page of the bookings of the booker, ordered by (start desc, id desc) and after the cursor if there is one,
+    //    with the associations of the named entity graph loaded
+    List<Booking> getByBookerId(Long bookerId, BookingState state, List<BookingStatus> statuses, BookingCursor after,
+                                Pageable pageable, String graphName);
+
+    //    the same for the bookings of the items of the owner
+    List<Booking> getByOwnerId(Long ownerId, BookingState state, List<BookingStatus> statuses, BookingCursor after,
+                               Pageable pageable, String graphName);
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private static final String FETCH_GRAPH = "javax.persistence.fetchgraph";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> getByBookerId(Long bookerId, BookingState state, List<BookingStatus> statuses,
+                                       BookingCursor after, Pageable pageable, String graphName) {
+        return getPage("b.booker.id = :userId", bookerId, state, statuses, after, pageable, graphName);
+    }
+
+    @Override
+    public List<Booking> getByOwnerId(Long ownerId, BookingState state, List<BookingStatus> statuses,
+                                      BookingCursor after, Pageable pageable, String graphName) {
+        return getPage("b.item.id in (select i.id from Item i where i.owner.id = :userId)", ownerId, state,
+                statuses, after, pageable, graphName);
+    }
+
+    //    one query for every list of bookings, the entity graph only decides which associations are loaded with it
+    private List<Booking> getPage(String userCondition, Long userId, BookingState state,
+                                  List<BookingStatus> statuses, BookingCursor after, Pageable pageable,
+                                  String graphName) {
+        StringBuilder jpql = new StringBuilder("select b from Booking b where ")
+                .append(userCondition)
+                .append(" and b.status in :statuses");
+        if (state == BookingState.CURRENT)
+            jpql.append(" and current_timestamp > b.start and current_timestamp < b.end");
+        else if (state == BookingState.PAST)
+            jpql.append(" and b.end < current_timestamp");
+        if (after != null)
+            jpql.append(" and (b.start < :start or (b.start = :start and b.id < :bookingId))");
+        jpql.append(" order by b.start desc, b.id desc");
+
+        TypedQuery<Booking> query = entityManager.createQuery(jpql.toString(), Booking.class)
+                .setParameter("userId", userId)
+                .setParameter("statuses", statuses)
+                .setHint(FETCH_GRAPH, entityManager.getEntityGraph(graphName))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        if (after != null)
+            query.setParameter("start", after.getStart())
+                    .setParameter("bookingId", after.getId());
+        return query.getResultList();
+    }
+}
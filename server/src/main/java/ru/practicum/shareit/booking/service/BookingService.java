@@ -1,6 +1,11 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.Versioned;
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCompactDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 
@@ -10,11 +15,23 @@ public interface BookingService {
 
     BookingDto add(BookingDtoInput bookingDtoInput, Long userId);
 
+    List<BookingBatchResultDto> addBatch(List<BookingDtoInput> bookingDtoInputs, Long userId);
+
     BookingDto setApproveById(Long bookingId, Boolean isApproved, Long userId);
 
-    BookingDto getById(Long bookingId, Long userId);
+    List<BookingDecisionResultDto> decideBatch(List<BookingDecisionDto> decisions, Long userId);
+
+    Versioned<BookingDto> getById(Long bookingId, Long userId);
+
+    Versioned<BookingCompactDto> getCompactById(Long bookingId, Long userId);
+
+    List<BookingDto> getByUserId(Long userId, BookingState state, Integer from, Integer size, String cursor);
+
+    List<BookingCompactDto> getCompactByUserId(Long userId, BookingState state, Integer from, Integer size,
+                                               String cursor);
 
-    List<BookingDto> getByUserId(Long userId, BookingState state, Integer from, Integer size);
+    List<BookingDto> getByItemsByUserId(Long userId, String state, Integer from, Integer size, String cursor);
 
-    List<BookingDto> getByItemsByUserId(Long userId, String state, Integer from, Integer size);
+    List<BookingCompactDto> getCompactByItemsByUserId(Long userId, String state, Integer from, Integer size,
+                                                      String cursor);
 }
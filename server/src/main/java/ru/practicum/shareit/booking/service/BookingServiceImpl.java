@@ -2,21 +2,39 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.ResourceVersion;
+import ru.practicum.shareit.Versioned;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingDecisionOutcome;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCompactDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionTarget;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.index.BookingInterval;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingRepositoryCustom;
+import ru.practicum.shareit.comment.eligibility.CommentEligibility;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -28,6 +46,9 @@ public class BookingServiceImpl implements BookingService {
 
     private final UserRepository userRepository;
 
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    private final CommentEligibility commentEligibility;
 
     @Override
     public BookingDto add(BookingDtoInput bookingDtoInput, Long userId) {
@@ -45,11 +66,83 @@ public class BookingServiceImpl implements BookingService {
             throw new UserNotFoundException("user with id " + userId + " is not found");
 
         Booking booking = BookingMapper.toBooking(bookingDtoInput, item, user, BookingStatus.WAITING);
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        return BookingMapper.toBookingDto(bookingIntervalIndex.admit(item.getId(), booking.getStart(),
+                booking.getEnd(), () -> bookingRepository.save(booking)));
+    }
+
+    @Override
+    public List<BookingBatchResultDto> addBatch(List<BookingDtoInput> bookingDtoInputs, Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null)
+            throw new UserNotFoundException("user with id " + userId + " is not found");
+
+        Set<Long> itemIds = bookingDtoInputs.stream()
+                .map(BookingDtoInput::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> itemsById = itemIds.isEmpty() ? new HashMap<>() :
+                itemRepository.getItemsByIdIn(itemIds).stream()
+                        .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        BookingBatchResultDto[] results = new BookingBatchResultDto[bookingDtoInputs.size()];
+        List<Booking> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+        for (int i = 0; i < bookingDtoInputs.size(); i++) {
+            BookingDtoInput bookingDtoInput = bookingDtoInputs.get(i);
+            Item item = itemsById.get(bookingDtoInput.getItemId());
+            if (item == null) {
+                results[i] = BookingMapper.toBookingBatchResultDto(i, HttpStatus.NOT_FOUND,
+                        "item with id " + bookingDtoInput.getItemId() + " not found");
+            } else if (!item.getAvailable()) {
+                results[i] = BookingMapper.toBookingBatchResultDto(i, HttpStatus.BAD_REQUEST,
+                        "item with id " + item.getId() + " is not available");
+            } else if (Objects.equals(item.getOwner().getId(), userId)) {
+                results[i] = BookingMapper.toBookingBatchResultDto(i, HttpStatus.NOT_FOUND,
+                        "user " + userId + " is owner of item " + item.getId());
+            } else if (bookingDtoInput.getStart() == null || bookingDtoInput.getEnd() == null ||
+                    !bookingDtoInput.getEnd().isAfter(bookingDtoInput.getStart())) {
+                results[i] = BookingMapper.toBookingBatchResultDto(i, HttpStatus.BAD_REQUEST,
+                        "booking from " + bookingDtoInput.getStart() + " to " + bookingDtoInput.getEnd() +
+                                " is incorrect");
+            } else {
+                candidates.add(BookingMapper.toBooking(bookingDtoInput, item, user, BookingStatus.WAITING));
+                candidateIndexes.add(i);
+            }
+        }
+
+        //    the admitted bookings are inserted by one saveAll, in JDBC batches of a single transaction
+        List<BookingInterval> conflicts = candidates.isEmpty() ? new ArrayList<>() :
+                bookingIntervalIndex.admitAll(candidates, bookingRepository::saveAll);
+        for (int i = 0; i < candidates.size(); i++) {
+            int index = candidateIndexes.get(i);
+            BookingInterval conflict = conflicts.get(i);
+            if (conflict == null)
+                results[index] = BookingMapper.toBookingBatchResultDto(index, candidates.get(i));
+            else
+                results[index] = BookingMapper.toBookingBatchResultDto(index, HttpStatus.CONFLICT,
+                        "item " + conflict.getItemId() + " is already booked from " + conflict.getStart() + " to " +
+                                conflict.getEnd() + (conflict.getBookingId() == null ? " by an earlier entry" :
+                                " by booking " + conflict.getBookingId()));
+        }
+        return Arrays.asList(results);
     }
 
     @Override
     public BookingDto setApproveById(Long bookingId, Boolean isApproved, Long userId) {
+        BookingStatus status = Boolean.TRUE.equals(isApproved) ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        LocalDateTime now = LocalDateTime.now();
+
+        //    a waiting booking of the owner is decided by one conditional update
+        if (bookingRepository.decideWaiting(List.of(bookingId), userId, status, BookingStatus.WAITING, now) == 1) {
+            Booking decidedBooking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new ObjectOptimisticLockingFailureException(Booking.class, bookingId));
+            if (status == BookingStatus.REJECTED)
+                bookingIntervalIndex.remove(decidedBooking.getItem().getId(), bookingId);
+            else
+                commentEligibility.recordApproved(List.of(bookingId));
+            return BookingMapper.toBookingDto(decidedBooking);
+        }
+
         Booking booking = bookingRepository.findById(bookingId).orElse(null);
         if (booking == null)
             return null;
@@ -64,17 +157,148 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingApproveAfterApproveException("booking " + bookingId + " is already approved");
         }
 
-        if (isApproved != null && isApproved)
-            booking.setStatus(BookingStatus.APPROVED);
-        else
-            booking.setStatus(BookingStatus.REJECTED);
+        //    the booking was read, so it is updated only if nobody has changed it since
+        Supplier<Booking> decide = () -> {
+            if (bookingRepository.setStatusByIdAndVersion(bookingId, booking.getVersion(), status, now) == 0)
+                throw new ObjectOptimisticLockingFailureException(Booking.class, bookingId);
+            return bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new ObjectOptimisticLockingFailureException(Booking.class, bookingId));
+        };
 
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking;
+        if (!BookingIntervalIndex.OCCUPYING_STATUSES.contains(booking.getStatus()) &&
+                status == BookingStatus.APPROVED) {
+            updatedBooking = bookingIntervalIndex.admit(booking.getItem().getId(), booking.getStart(),
+                    booking.getEnd(), decide);
+        } else {
+            updatedBooking = decide.get();
+            bookingIntervalIndex.update(updatedBooking);
+        }
+        if (status == BookingStatus.APPROVED)
+            commentEligibility.recordApproved(List.of(bookingId));
         return BookingMapper.toBookingDto(updatedBooking);
     }
 
     @Override
-    public BookingDto getById(Long bookingId, Long userId) {
+    public List<BookingDecisionResultDto> decideBatch(List<BookingDecisionDto> decisions, Long userId) {
+        //    the first decision on a booking counts
+        Map<Long, Boolean> approvedById = new LinkedHashMap<>();
+        decisions.forEach(decision -> approvedById.putIfAbsent(decision.getBookingId(),
+                Boolean.TRUE.equals(decision.getApproved())));
+
+        Map<Long, BookingDecisionTarget> targetsById = bookingRepository.getDecisionTargetsByIdIn(
+                approvedById.keySet()).stream()
+                .collect(Collectors.toMap(BookingDecisionTarget::getBookingId, Function.identity()));
+
+        Map<Long, BookingDecisionResultDto> resultsById = new LinkedHashMap<>();
+        Map<Boolean, List<Long>> decidedIds = new HashMap<>();
+        approvedById.forEach((bookingId, approved) -> {
+            BookingDecisionTarget target = targetsById.get(bookingId);
+            BookingDecisionOutcome outcome;
+            if (target == null)
+                outcome = BookingDecisionOutcome.NOT_FOUND;
+            else if (!Objects.equals(target.getOwnerId(), userId))
+                outcome = BookingDecisionOutcome.NOT_OWNER;
+            else if (target.getStatus() == BookingStatus.APPROVED)
+                outcome = BookingDecisionOutcome.ALREADY_APPROVED;
+            else if (target.getStatus() == BookingStatus.REJECTED)
+                outcome = BookingDecisionOutcome.ALREADY_REJECTED;
+            else if (target.getStatus() == BookingStatus.CANCELLED)
+                outcome = BookingDecisionOutcome.ALREADY_CANCELLED;
+            else {
+                outcome = approved ? BookingDecisionOutcome.APPROVED : BookingDecisionOutcome.REJECTED;
+                decidedIds.computeIfAbsent(approved, key -> new ArrayList<>()).add(bookingId);
+            }
+
+            BookingStatus status = target == null || !Objects.equals(target.getOwnerId(), userId) ? null :
+                    outcome == BookingDecisionOutcome.APPROVED ? BookingStatus.APPROVED :
+                            outcome == BookingDecisionOutcome.REJECTED ? BookingStatus.REJECTED : target.getStatus();
+            resultsById.put(bookingId, new BookingDecisionResultDto(bookingId, outcome, status));
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        decidedIds.forEach((approved, bookingIds) -> {
+            BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            int updated = bookingRepository.decideWaiting(bookingIds, userId, status, BookingStatus.WAITING, now);
+
+            //    some bookings were decided by someone else after they were checked
+            if (updated < bookingIds.size()) {
+                bookingRepository.getDecisionTargetsByIdIn(bookingIds).stream()
+                        .filter(target -> target.getStatus() != status)
+                        .forEach(target -> resultsById.put(target.getBookingId(), new BookingDecisionResultDto(
+                                target.getBookingId(), BookingDecisionOutcome.CHANGED_CONCURRENTLY,
+                                target.getStatus())));
+            }
+            //    only the bookings this call has decided
+            BookingDecisionOutcome outcome = approved ? BookingDecisionOutcome.APPROVED :
+                    BookingDecisionOutcome.REJECTED;
+            List<Long> movedIds = bookingIds.stream()
+                    .filter(bookingId -> resultsById.get(bookingId).getOutcome() == outcome)
+                    .collect(Collectors.toList());
+            if (approved)
+                commentEligibility.recordApproved(movedIds);
+            else
+                movedIds.forEach(bookingId -> bookingIntervalIndex.remove(targetsById.get(bookingId).getItemId(),
+                        bookingId));
+        });
+
+        return new ArrayList<>(resultsById.values());
+    }
+
+    @Override
+    public Versioned<BookingDto> getById(Long bookingId, Long userId) {
+        Booking booking = findById(bookingId, userId);
+        return new Versioned<>(BookingMapper.toBookingDto(booking), versionOf(booking));
+    }
+
+    @Override
+    public Versioned<BookingCompactDto> getCompactById(Long bookingId, Long userId) {
+        Booking booking = findById(bookingId, userId);
+        return new Versioned<>(BookingMapper.toBookingCompactDto(booking), versionOf(booking));
+    }
+
+    private static ResourceVersion versionOf(Booking booking) {
+        Item item = booking.getItem();
+        return new ResourceVersion()
+                .with("b", booking.getId(), booking.getVersion(), booking.getUpdated())
+                .with("i", item.getId(), item.getVersion(), item.getUpdated())
+                .with("o", item.getOwner().getId(), item.getOwner().getVersion(), item.getOwner().getUpdated())
+                .with("u", booking.getBooker().getId(), booking.getBooker().getVersion(),
+                        booking.getBooker().getUpdated());
+    }
+
+    @Override
+    public List<BookingDto> getByUserId(Long userId, BookingState state, Integer from, Integer size, String cursor) {
+        return findByUserId(userId, state, from, size, cursor, BookingRepositoryCustom.DETAILS_GRAPH).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingCompactDto> getCompactByUserId(Long userId, BookingState state, Integer from, Integer size,
+                                                      String cursor) {
+        return findByUserId(userId, state, from, size, cursor, BookingRepositoryCustom.COMPACT_GRAPH).stream()
+                .map(BookingMapper::toBookingCompactDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingDto> getByItemsByUserId(Long userId, String state, Integer from, Integer size,
+                                               String cursor) {
+        return findByItemsByUserId(userId, state, from, size, cursor, BookingRepositoryCustom.DETAILS_GRAPH).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingCompactDto> getCompactByItemsByUserId(Long userId, String state, Integer from, Integer size,
+                                                             String cursor) {
+        return findByItemsByUserId(userId, state, from, size, cursor, BookingRepositoryCustom.COMPACT_GRAPH).stream()
+                .map(BookingMapper::toBookingCompactDto)
+                .collect(Collectors.toList());
+    }
+
+    private Booking findById(Long bookingId, Long userId) {
         Booking booking = bookingRepository.findById(bookingId).orElse(null);
         if (booking == null) {
             throw new BookingNotFoundException("booking with id " + bookingId + " not found");
@@ -82,52 +306,32 @@ public class BookingServiceImpl implements BookingService {
         if (!(Objects.equals(userId, booking.getBooker().getId())) && !(Objects.equals(userId,
                 booking.getItem().getOwner().getId())))
             throw new BookingNotFoundException("booking of user " + userId + " or with item of this user not found");
-        return BookingMapper.toBookingDto(booking);
+        return booking;
     }
 
-    @Override
-    public List<BookingDto> getByUserId(Long userId, BookingState state, Integer from, Integer size) {
+    private List<Booking> findByUserId(Long userId, BookingState state, Integer from, Integer size, String cursor,
+                                       String graphName) {
         int page = from / size;
 
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null)
+        if (userRepository.getSnapshotById(userId).isEmpty())
             throw new UserNotFoundException("user with id " + userId + " not found");
 
-        List<Booking> bookings;
-        if (state == BookingState.CURRENT)
-            bookings = bookingRepository.getCurrentByUserIdAndStatus(PageRequest.of(page, size), userId,
-                    BookingStatus.stateToStatuses(state));
-        else if (state == BookingState.PAST)
-            bookings = bookingRepository.getPastByUserIdAndStatus(PageRequest.of(page, size), userId,
-                    BookingStatus.stateToStatuses(state));
-        else
-            bookings = bookingRepository.findBookingsByBooker_IdAndStatusInOrderByStartDesc(PageRequest.of(page, size), userId,
-                    BookingStatus.stateToStatuses(state));
-
-        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        BookingCursor after = cursor != null ? BookingCursor.decode(cursor) : null;
+        return bookingRepository.getByBookerId(userId, state, BookingStatus.stateToStatuses(state), after,
+                PageRequest.of(after != null ? 0 : page, size), graphName);
     }
 
-    @Override
-    public List<BookingDto> getByItemsByUserId(Long userId, String stateString, Integer from, Integer size) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null)
+    private List<Booking> findByItemsByUserId(Long userId, String stateString, Integer from, Integer size,
+                                              String cursor, String graphName) {
+        if (userRepository.getSnapshotById(userId).isEmpty())
             throw new UserNotFoundException("user with id " + userId + " not found");
 
         BookingState state = BookingState.valueOf(stateString);
 
         int page = from / size;
 
-        List<Booking> bookings;
-        if (state == BookingState.CURRENT)
-            bookings = bookingRepository.getCurrentByOwnerIdAndStatus(PageRequest.of(page, size), userId,
-                    BookingStatus.stateToStatuses(state));
-        else if (state == BookingState.PAST)
-            bookings = bookingRepository.getPastByOwnerIdAndStatus(PageRequest.of(page, size), userId,
-                    BookingStatus.stateToStatuses(state));
-        else
-            bookings = bookingRepository.findBookingsByItem_Owner_IdAndStatusInOrderByStartDesc(PageRequest.of(page, size), userId,
-                    BookingStatus.stateToStatuses(state));
-
-        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        BookingCursor after = cursor != null ? BookingCursor.decode(cursor) : null;
+        return bookingRepository.getByOwnerId(userId, state, BookingStatus.stateToStatuses(state), after,
+                PageRequest.of(after != null ? 0 : page, size), graphName);
     }
 }
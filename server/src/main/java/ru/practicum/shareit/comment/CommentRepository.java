@@ -1,9 +1,18 @@
 package ru.practicum.shareit.comment;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = {"author"})
+    @Query("select c from Comment c where c.item.id = ?1")
     List<Comment> getCommentsByItem_Id(Long itemId);
+
+    @EntityGraph(attributePaths = {"author"})
+    @Query("select c from Comment c where c.item.id in ?1")
+    List<Comment> getCommentsByItem_IdIn(Collection<Long> itemIds);
 }
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.comment.eligibility;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+//    a user may comment an item after an approved booking of it has ended.
+//    completed_stays keeps the earliest such end per booker and item, so the check is one primary key lookup;
+//    the table only speeds the check up, a miss is answered by the bookings themselves
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentEligibility {
+    private final CompletedStayRepository completedStayRepository;
+
+    private final BookingRepository bookingRepository;
+
+    @Value("${shareit.comments.completed-stays:true}")
+    private boolean completedStaysEnabled;
+
+    public boolean canComment(Long userId, Long itemId, LocalDateTime now) {
+        if (completedStaysEnabled && completedStayRepository.existsById_BookerIdAndId_ItemIdAndEndBefore(userId,
+                itemId, now))
+            return true;
+        return bookingRepository.existsByBooker_IdAndItem_IdAndStatusAndEndBefore(userId, itemId,
+                BookingStatus.APPROVED, now);
+    }
+
+    //    called after bookings were approved, bookings that aren't approved are skipped
+    public void recordApproved(Collection<Long> bookingIds) {
+        if (!completedStaysEnabled || bookingIds.isEmpty())
+            return;
+
+        try {
+            completedStayRepository.moveEndsToApproved(bookingIds);
+            completedStayRepository.insertApproved(bookingIds);
+        } catch (DataIntegrityViolationException e) {
+            //    a concurrent approval has added the stay, the check falls back to the bookings if it's later
+            log.warn("completed stays of bookings {} not recorded: {}", bookingIds, e.getMessage());
+        }
+    }
+}
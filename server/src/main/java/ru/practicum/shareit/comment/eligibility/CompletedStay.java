@@ -0,0 +1,23 @@
+package ru.practicum.shareit.comment.eligibility;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+//    the earliest end of an approved booking of an item by a booker
+@Getter
+@Setter
+@Entity
+@Table(name = "completed_stays", schema = "public")
+public class CompletedStay {
+    @EmbeddedId
+    private CompletedStayId id;
+
+    @Column(name = "stay_end", nullable = false)
+    private LocalDateTime end;
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.comment.eligibility;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class CompletedStayId implements Serializable {
+    @Column(name = "stay_booker")
+    private Long bookerId;
+
+    @Column(name = "stay_item")
+    private Long itemId;
+}
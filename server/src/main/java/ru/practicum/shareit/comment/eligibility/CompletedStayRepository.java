@@ -0,0 +1,37 @@
+package ru.practicum.shareit.comment.eligibility;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface CompletedStayRepository extends JpaRepository<CompletedStay, CompletedStayId> {
+
+    boolean existsById_BookerIdAndId_ItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime before);
+
+    //    moves the end of known stays back to an earlier approved booking among the given ones
+    @Transactional
+    @Modifying
+    @Query(value = "update completed_stays s set stay_end = (select min(b.booking_end) from bookings b " +
+            "where b.booking_id in (:bookingIds) and b.booking_status = 'APPROVED' " +
+            "and b.booker = s.stay_booker and b.item = s.stay_item) " +
+            "where exists (select 1 from bookings b where b.booking_id in (:bookingIds) " +
+            "and b.booking_status = 'APPROVED' and b.booker = s.stay_booker and b.item = s.stay_item " +
+            "and b.booking_end < s.stay_end)", nativeQuery = true)
+    int moveEndsToApproved(@Param("bookingIds") Collection<Long> bookingIds);
+
+    //    adds the stays of bookers that had no approved booking of the item before
+    @Transactional
+    @Modifying
+    @Query(value = "insert into completed_stays (stay_booker, stay_item, stay_end) " +
+            "select b.booker, b.item, min(b.booking_end) from bookings b " +
+            "where b.booking_id in (:bookingIds) and b.booking_status = 'APPROVED' " +
+            "and not exists (select 1 from completed_stays s where s.stay_booker = b.booker " +
+            "and s.stay_item = b.item) " +
+            "group by b.booker, b.item", nativeQuery = true)
+    int insertApproved(@Param("bookingIds") Collection<Long> bookingIds);
+}
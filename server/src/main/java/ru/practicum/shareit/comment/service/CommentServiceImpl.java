@@ -2,13 +2,12 @@ package ru.practicum.shareit.comment.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.Comment;
 import ru.practicum.shareit.comment.CommentRepository;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentDtoInput;
 import ru.practicum.shareit.comment.dto.CommentMapper;
+import ru.practicum.shareit.comment.eligibility.CommentEligibility;
 import ru.practicum.shareit.exception.CommentBeforeBookingException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
@@ -18,7 +17,6 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @RequiredArgsConstructor
 @Service
@@ -30,7 +28,7 @@ public class CommentServiceImpl implements CommentService {
 
     private final ItemRepository itemRepository;
 
-    private final BookingRepository bookingRepository;
+    private final CommentEligibility commentEligibility;
 
 
     public CommentDto addComment(Long userId, Long itemId, CommentDtoInput commentDtoInput) {
@@ -42,9 +40,9 @@ public class CommentServiceImpl implements CommentService {
         if (item == null)
             throw new ItemNotFoundException("item with id " + itemId + " not found");
 
-        List<Booking> bookings = bookingRepository.getBookingsByBooker_IdAndEndBefore(userId, LocalDateTime.now());
-        if (bookings.size() < 1)
-            throw new CommentBeforeBookingException("user " + userId + " can't comment before booking");
+        if (!commentEligibility.canComment(userId, itemId, LocalDateTime.now()))
+            throw new CommentBeforeBookingException("user " + userId + " can't comment item " + itemId +
+                    " before booking it");
 
         Comment comment = new Comment();
         comment.setText(commentDtoInput.getText());
@@ -53,6 +51,7 @@ public class CommentServiceImpl implements CommentService {
         comment.setCreated(LocalDateTime.now());
 
         Comment newComment = commentRepository.save(comment);
+        itemRepository.touchById(itemId, newComment.getCreated());
         return CommentMapper.toCommentDto(newComment);
     }
 
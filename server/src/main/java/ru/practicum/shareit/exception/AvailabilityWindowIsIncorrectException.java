@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class AvailabilityWindowIsIncorrectException extends RuntimeException {
+    public AvailabilityWindowIsIncorrectException(String message) {
+        super(message);
+    }
+}
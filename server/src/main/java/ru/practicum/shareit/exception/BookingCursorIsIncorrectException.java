@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class BookingCursorIsIncorrectException extends RuntimeException {
+    public BookingCursorIsIncorrectException(String message) {
+        super(message);
+    }
+}
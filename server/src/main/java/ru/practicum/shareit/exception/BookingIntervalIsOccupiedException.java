@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class BookingIntervalIsOccupiedException extends RuntimeException {
+    public BookingIntervalIsOccupiedException(String message) {
+        super(message);
+    }
+}
@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -79,9 +80,35 @@ public class BusinessExceptionHandler {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler({ ObjectOptimisticLockingFailureException.class })
+    public ResponseEntity<Object> handleObjectOptimisticLockingFailureException(
+            ObjectOptimisticLockingFailureException e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler({ ItemRequestNotFoundException.class })
     public ResponseEntity<Object> handleItemRequestNotFoundException(ItemRequestNotFoundException e) {
         log.error(e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler({ BookingCursorIsIncorrectException.class })
+    public ResponseEntity<Object> handleBookingCursorIsIncorrectException(BookingCursorIsIncorrectException e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({ BookingIntervalIsOccupiedException.class })
+    public ResponseEntity<Object> handleBookingIntervalIsOccupiedException(BookingIntervalIsOccupiedException e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler({ AvailabilityWindowIsIncorrectException.class })
+    public ResponseEntity<Object> handleAvailabilityWindowIsIncorrectException(
+            AvailabilityWindowIsIncorrectException e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
 }
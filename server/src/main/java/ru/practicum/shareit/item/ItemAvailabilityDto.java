@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ItemAvailabilityDto {
+    private Long itemId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private List<TimeIntervalDto> free;
+
+    private List<TimeIntervalDto> busy;
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item;
+
+import lombok.Data;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.comment.dto.CommentDto;
+
+import java.util.List;
+
+@Data
+public class ItemCompactDto {
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private Boolean available;
+
+    private Long ownerId;
+
+    private Long requestId;
+
+    private BookingShortDto lastBooking;
+
+    private BookingShortDto nextBooking;
+
+    private List<CommentDto> comments;
+}
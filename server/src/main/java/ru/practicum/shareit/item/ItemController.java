@@ -3,12 +3,17 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.ApiMediaType;
+import ru.practicum.shareit.Versioned;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentDtoInput;
 import ru.practicum.shareit.comment.service.CommentService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -35,9 +40,25 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDto getById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
+    public ItemDto getById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
+                           WebRequest webRequest) {
         log.info("GET /items/{}", itemId);
-        return itemService.getById(itemId, userId);
+        Versioned<ItemDto> item = itemService.getById(itemId, userId);
+        if (webRequest.checkNotModified(item.getVersion().getEtag(ApiMediaType.V1),
+                item.getVersion().getLastModified()))
+            return null;
+        return item.getBody();
+    }
+
+    @GetMapping(value = "/{itemId}", produces = ApiMediaType.V2_JSON)
+    public ItemCompactDto getCompactById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
+                                         WebRequest webRequest) {
+        log.info("GET /items/{} (v2)", itemId);
+        Versioned<ItemCompactDto> item = itemService.getCompactById(itemId, userId);
+        if (webRequest.checkNotModified(item.getVersion().getEtag(ApiMediaType.V2),
+                item.getVersion().getLastModified()))
+            return null;
+        return item.getBody();
     }
 
     @GetMapping
@@ -47,12 +68,60 @@ public class ItemController {
         return itemService.getByOwnerId(userId, from, size);
     }
 
+    @GetMapping(produces = ApiMediaType.V2_JSON)
+    public List<ItemCompactDto> getCompactByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @RequestParam Integer from, @RequestParam Integer size) {
+        log.info("GET /items (v2)");
+        return itemService.getCompactByOwnerId(userId, from, size);
+    }
+
     @GetMapping("/search")
     public List<ItemDto> search(@RequestParam String text, @RequestParam Integer from, @RequestParam Integer size) {
         log.info("GET /items/search?text={}", text);
         return itemService.search(text, from, size);
     }
 
+    @GetMapping(value = "/search", produces = ApiMediaType.V2_JSON)
+    public List<ItemCompactDto> searchCompact(@RequestParam String text, @RequestParam Integer from,
+                                              @RequestParam Integer size) {
+        log.info("GET /items/search?text={} (v2)", text);
+        return itemService.searchCompact(text, from, size);
+    }
+
+    @GetMapping("/available")
+    public List<ItemDto> searchAvailable(@RequestParam(required = false) String text,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                         LocalDateTime start,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                         LocalDateTime end,
+                                         @RequestParam Integer from, @RequestParam Integer size) {
+        log.info("GET /items/available?text={}&start={}&end={}", text, start, end);
+        return itemService.searchAvailable(text, start, end, from, size);
+    }
+
+    @GetMapping(value = "/available", produces = ApiMediaType.V2_JSON)
+    public List<ItemCompactDto> searchCompactAvailable(@RequestParam(required = false) String text,
+                                                       @RequestParam
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                       LocalDateTime start,
+                                                       @RequestParam
+                                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                       LocalDateTime end,
+                                                       @RequestParam Integer from, @RequestParam Integer size) {
+        log.info("GET /items/available?text={}&start={}&end={} (v2)", text, start, end);
+        return itemService.searchCompactAvailable(text, start, end, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        log.info("GET /items/{}/availability?from={}&to={}", itemId, from, to);
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
                                  @RequestBody CommentDtoInput commentDtoInput) {
@@ -28,6 +28,7 @@ public class ItemDto {
     @Positive
     private Long requestId;
 
+    //    v1 only: every booking of the item, shown to every caller
     private Set<Booking> bookings;
 
     private BookingDto lastBooking;
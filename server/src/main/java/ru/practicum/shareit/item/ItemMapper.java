@@ -6,17 +6,20 @@ import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
 
 public class ItemMapper {
-    public static ItemDto toItemDto(Item item, Set<Booking> bookings, Long userId, List<CommentDto> comments) {
+    public static ItemDto toItemDto(Item item, Booking lastBooking, Booking nextBooking, Long userId,
+                                    List<CommentDto> comments) {
         ItemDto itemDto = new ItemDto();
         itemDto.setId(item.getId());
         itemDto.setName(item.getName());
         itemDto.setDescription(item.getDescription());
         itemDto.setAvailable(item.getAvailable());
         itemDto.setRequestId(item.getRequest() != null ? item.getRequest().getId() : null);
-        itemDto.setBookings(bookings);
         itemDto.setComments(comments);
         if (item.getOwner() != null)
             itemDto.setOwner(item.getOwner());
@@ -24,20 +27,67 @@ public class ItemMapper {
             itemDto.setRequestId(item.getRequest().getId());
 
         if (Objects.equals(item.getOwner().getId(), userId)) {
-            Optional<Booking> last = bookings.stream()
-                    .filter(nextBooking -> nextBooking.getEnd().isBefore(LocalDateTime.now()))
-                    .max(Comparator.comparing(Booking::getEnd));
-            itemDto.setLastBooking(BookingMapper.toBookingDto(last.orElse(null)));
-
-            Optional<Booking> next = bookings.stream()
-                    .filter(nextBooking -> nextBooking.getStart().isAfter(LocalDateTime.now()))
-                    .min(Comparator.comparing(Booking::getStart));
-            itemDto.setNextBooking(BookingMapper.toBookingDto(next.orElse(null)));
+            itemDto.setLastBooking(BookingMapper.toBookingDto(lastBooking));
+            itemDto.setNextBooking(BookingMapper.toBookingDto(nextBooking));
         }
+        //    every booking of the item is added by the service, in one query for a page of items
+        itemDto.setBookings(new LinkedHashSet<>());
 
         return itemDto;
     }
 
+    //    an item answering a request: the item card only, without bookings and comments
+    public static ItemDto toItemAnswerDto(Item item) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(item.getId());
+        itemDto.setName(item.getName());
+        itemDto.setDescription(item.getDescription());
+        itemDto.setAvailable(item.getAvailable());
+        itemDto.setRequestId(item.getRequest() != null ? item.getRequest().getId() : null);
+        if (item.getOwner() != null)
+            itemDto.setOwner(item.getOwner());
+        itemDto.setBookings(new LinkedHashSet<>());
+        itemDto.setComments(new ArrayList<>());
+        return itemDto;
+    }
+
+    public static ItemCompactDto toItemCompactDto(Item item, Booking lastBooking, Booking nextBooking, Long userId,
+                                                  List<CommentDto> comments) {
+        ItemCompactDto itemCompactDto = new ItemCompactDto();
+        itemCompactDto.setId(item.getId());
+        itemCompactDto.setName(item.getName());
+        itemCompactDto.setDescription(item.getDescription());
+        itemCompactDto.setAvailable(item.getAvailable());
+        itemCompactDto.setOwnerId(item.getOwner().getId());
+        itemCompactDto.setRequestId(item.getRequest() != null ? item.getRequest().getId() : null);
+        itemCompactDto.setComments(comments);
+
+        if (Objects.equals(item.getOwner().getId(), userId)) {
+            itemCompactDto.setLastBooking(BookingMapper.toBookingShortDto(lastBooking));
+            itemCompactDto.setNextBooking(BookingMapper.toBookingShortDto(nextBooking));
+        }
+
+        return itemCompactDto;
+    }
+
+    public static ItemShortDto toItemShortDto(Item item) {
+        ItemShortDto itemShortDto = new ItemShortDto();
+        itemShortDto.setId(item.getId());
+        itemShortDto.setName(item.getName());
+        return itemShortDto;
+    }
+
+    public static ItemAvailabilityDto toItemAvailabilityDto(Item item, LocalDateTime from, LocalDateTime to,
+                                                            List<TimeIntervalDto> free, List<TimeIntervalDto> busy) {
+        ItemAvailabilityDto itemAvailabilityDto = new ItemAvailabilityDto();
+        itemAvailabilityDto.setItemId(item.getId());
+        itemAvailabilityDto.setFrom(from);
+        itemAvailabilityDto.setTo(to);
+        itemAvailabilityDto.setFree(free);
+        itemAvailabilityDto.setBusy(busy);
+        return itemAvailabilityDto;
+    }
+
     public static Item toItem(ItemDto itemDto) {
         Item item = new Item();
         if (itemDto.getId() != null)
@@ -1,23 +1,36 @@
 package ru.practicum.shareit.item.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.UpdateTimestamp;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Getter
 @Setter
 @RequiredArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
 @Table(name = "items", schema = "public")
+//    an item card, also copied into the cached item snapshot, so nothing it renders may be left to load lazily
+@NamedEntityGraph(name = "Item.card", attributeNodes = {
+        @NamedAttributeNode("owner"),
+        @NamedAttributeNode(value = "request", subgraph = "request")
+}, subgraphs = @NamedSubgraph(name = "request", attributeNodes = @NamedAttributeNode("requestor")))
+//    lists of items render the owner and only the id of the request
+@NamedEntityGraph(name = "Item.list", attributeNodes = @NamedAttributeNode("owner"))
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "item_id")
     private Long id;
 
@@ -33,14 +46,24 @@ public class Item {
     @Column(name = "item_available", nullable = false)
     private Boolean available;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_owner", referencedColumnName = "user_id")
     private User owner;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_request", referencedColumnName = "request_id")
     private ItemRequest request;
 
+    @JsonIgnore
+    @Version
+    @Column(name = "item_version", nullable = false)
+    private Long version;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "item_updated", nullable = false)
+    private LocalDateTime updated;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.model.UserSnapshot;
+
+import java.time.LocalDateTime;
+
+//    an immutable copy of an item card with its owner, the form in which items are cached and shared between threads
+@Getter
+@RequiredArgsConstructor
+public class ItemSnapshot {
+    private final Long id;
+
+    private final String name;
+
+    private final String description;
+
+    private final Boolean available;
+
+    private final UserSnapshot owner;
+
+    private final Long requestId;
+
+    private final Long version;
+
+    private final LocalDateTime updated;
+
+    public static ItemSnapshot of(Item item) {
+        return new ItemSnapshot(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwner() != null ? UserSnapshot.of(item.getOwner()) : null,
+                item.getRequest() != null ? item.getRequest().getId() : null,
+                item.getVersion(), item.getUpdated());
+    }
+
+    //    a new detached item for one caller, to read or render but not to save; its request carries the id only
+    public Item toItem() {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        if (owner != null)
+            item.setOwner(owner.toUser());
+        if (requestId != null) {
+            ItemRequest request = new ItemRequest();
+            request.setId(requestId);
+            item.setRequest(request);
+        }
+        item.setVersion(version);
+        item.setUpdated(updated);
+        return item;
+    }
+}
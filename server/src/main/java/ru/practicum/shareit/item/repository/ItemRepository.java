@@ -1,17 +1,64 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.item.model.ItemSnapshot;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
+    @EntityGraph("Item.card")
+    Optional<Item> findById(Long id);
+
+    //    cached as an immutable snapshot, a cached entity would be one mutable object shared by every thread
+    @Cacheable(cacheNames = "items", unless = "#result == null")
+    default Optional<ItemSnapshot> getSnapshotById(Long id) {
+        return findById(id).map(ItemSnapshot::of);
+    }
+
+    @EntityGraph("Item.list")
+    List<Item> findAllById(Iterable<Long> ids);
+
+    @EntityGraph("Item.card")
+    @Query("select i from Item i where i.owner.id = ?1 order by i.id asc")
     List<Item> findItemsByOwner_Id(Pageable pageable, Long userId);
 
-    List<Item> findItemsByDescriptionContainingIgnoreCaseAndAvailableIsTrue(Pageable pageable, String text);
+    //    keyset scan for building the search index
+    List<Item> findItemsByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    //    answers to a page of requests, in one query
+    @Query("select i from Item i left join fetch i.owner join fetch i.request r where r.id in ?1 order by i.id asc")
+    List<Item> getItemsByRequestIdIn(Collection<Long> requestIds);
+
+    //    items referenced by a batch of bookings, with everything a booking renders
+    @Query("select i from Item i left join fetch i.owner left join fetch i.request r left join fetch r.requestor " +
+            "where i.id in ?1")
+    List<Item> getItemsByIdIn(Collection<Long> itemIds);
+
+    //    bumps the version of an item when rows rendered with it change, e.g. a new comment
+    @Transactional
+    @Modifying
+    @CacheEvict(cacheNames = "items", key = "#itemId")
+    @Query("update Item i set i.version = i.version + 1, i.updated = :updated where i.id = :itemId")
+    void touchById(@Param("itemId") Long itemId, @Param("updated") LocalDateTime updated);
 
-    List<Item> getItemsByRequest(ItemRequest request);
+    //    comments show their author's name, so renaming a user changes the items they commented on
+    @Transactional
+    @Modifying
+    @CacheEvict(cacheNames = "items", allEntries = true)
+    @Query("update Item i set i.version = i.version + 1, i.updated = :updated " +
+            "where i.id in (select c.item.id from Comment c where c.author.id = :authorId)")
+    void touchCommentedBy(@Param("authorId") Long authorId, @Param("updated") LocalDateTime updated);
 }
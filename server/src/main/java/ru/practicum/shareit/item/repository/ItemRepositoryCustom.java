@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.repository;
+
+import java.time.LocalDateTime;
+
+public interface ItemRepositoryCustom {
+
+    //    updates only the given fields of an item of the owner, null fields are left as they are;
+    //    returns the number of updated rows
+    int updateByIdAndOwnerId(Long itemId, Long ownerId, String name, String description, Boolean available,
+                             LocalDateTime updated);
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateByIdAndOwnerId(Long itemId, Long ownerId, String name, String description, Boolean available,
+                                    LocalDateTime updated) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Item> update = builder.createCriteriaUpdate(Item.class);
+        Root<Item> item = update.from(Item.class);
+        if (name != null)
+            update.set(item.<String>get("name"), name);
+        if (description != null)
+            update.set(item.<String>get("description"), description);
+        if (available != null)
+            update.set(item.<Boolean>get("available"), available);
+        update.set(item.<Long>get("version"), builder.sum(item.<Long>get("version"), 1L));
+        update.set(item.<LocalDateTime>get("updated"), updated);
+        update.where(builder.equal(item.get("id"), itemId),
+                builder.equal(item.get("owner").get("id"), ownerId));
+
+        int count = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return count;
+    }
+}
@@ -0,0 +1,330 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BONUS = 2;
+    private static final int PREFIX_MATCH_BONUS = 1;
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int AVAILABLE_CHUNK_SIZE = 256;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //    the index searched, replaced at once by a rebuilt one
+    private Index current = new Index();
+
+    //    while a build runs, changes go to both indexes, and the build skips the items and owners changed meanwhile,
+    //    whose rows it may have read before the change
+    private Index building;
+
+    private final Set<Long> changedItemIds = new HashSet<>();
+
+    private final Set<Long> removedOwnerIds = new HashSet<>();
+
+    //    built before the web server starts, so no search is answered from an empty or a partial index
+    @PostConstruct
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            building = new Index();
+            changedItemIds.clear();
+            removedOwnerIds.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long lastId = 0L;
+        long count = 0L;
+        List<Item> items = itemRepository.findItemsByIdGreaterThanOrderByIdAsc(lastId,
+                PageRequest.of(0, LOAD_BATCH_SIZE));
+        while (!items.isEmpty()) {
+            List<IndexedItem> batch = items.stream().map(IndexedItem::of).collect(Collectors.toList());
+            lock.writeLock().lock();
+            try {
+                for (IndexedItem item : batch) {
+                    if (!changedItemIds.contains(item.itemId) && !removedOwnerIds.contains(item.ownerId))
+                        building.put(item);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            count += items.size();
+            lastId = items.get(items.size() - 1).getId();
+            items = itemRepository.findItemsByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+        }
+
+        lock.writeLock().lock();
+        try {
+            current = building;
+            building = null;
+            changedItemIds.clear();
+            removedOwnerIds.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("search index built, {} items indexed", count);
+    }
+
+    public void index(Item item) {
+        IndexedItem indexedItem = IndexedItem.of(item);
+
+        lock.writeLock().lock();
+        try {
+            current.put(indexedItem);
+            if (building != null) {
+                building.put(indexedItem);
+                changedItemIds.add(indexedItem.itemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //    items go away with their owner
+    public void removeOwner(Long ownerId) {
+        lock.writeLock().lock();
+        try {
+            current.removeOwner(ownerId);
+            if (building != null) {
+                building.removeOwner(ownerId);
+                removedOwnerIds.add(ownerId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //    ids of available items containing every word of the text in their name or description, best matches first
+    public List<Long> search(String text, int from, int size) {
+        return search(text, from, size, itemId -> true);
+    }
+
+    //    the same, counting only items accepted by the filter, which is called outside of the index lock
+    public List<Long> search(String text, int from, int size, Predicate<Long> filter) {
+        List<String> queryTokens = tokenize(text).distinct().collect(Collectors.toList());
+        if (queryTokens.isEmpty())
+            return new ArrayList<>();
+
+        Map<Long, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String queryToken : queryTokens) {
+                Map<Long, Integer> tokenScores = current.scoreInfix(queryToken, scores);
+                if (scores != null) {
+                    for (Map.Entry<Long, Integer> tokenScore : tokenScores.entrySet())
+                        tokenScore.setValue(tokenScore.getValue() + scores.get(tokenScore.getKey()));
+                }
+                scores = tokenScores;
+                if (scores.isEmpty())
+                    break;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        //    matches are taken best first from a heap and the filter is called only until the page is full,
+        //    so it runs for the matches ranked above the last returned one and not for every match
+        Comparator<Map.Entry<Long, Integer>> ranking = Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Integer>> ranked = new PriorityQueue<>(Math.max(scores.size(), 1), ranking);
+        ranked.addAll(scores.entrySet());
+        List<Long> itemIds = new ArrayList<>(size);
+        int skipped = 0;
+        while (itemIds.size() < size && !ranked.isEmpty()) {
+            Long itemId = ranked.poll().getKey();
+            if (!filter.test(itemId))
+                continue;
+            if (skipped < from)
+                skipped++;
+            else
+                itemIds.add(itemId);
+        }
+        return itemIds;
+    }
+
+    //    ids of all available items accepted by the filter, in id order; the ids are read in chunks, each under
+    //    the index lock, and filtered outside of it until the page is full
+    public List<Long> getAvailable(int from, int size, Predicate<Long> filter) {
+        List<Long> itemIds = new ArrayList<>(size);
+        int skipped = 0;
+        Long lastId = null;
+        while (itemIds.size() < size) {
+            List<Long> chunk = new ArrayList<>(AVAILABLE_CHUNK_SIZE);
+            lock.readLock().lock();
+            try {
+                NavigableSet<Long> availableItemIds = current.availableItemIds;
+                Iterator<Long> ids = (lastId == null ? availableItemIds : availableItemIds.tailSet(lastId, false))
+                        .iterator();
+                while (chunk.size() < AVAILABLE_CHUNK_SIZE && ids.hasNext())
+                    chunk.add(ids.next());
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (chunk.isEmpty())
+                break;
+
+            for (Long itemId : chunk) {
+                if (itemIds.size() == size)
+                    break;
+                if (!filter.test(itemId))
+                    continue;
+                if (skipped < from)
+                    skipped++;
+                else
+                    itemIds.add(itemId);
+            }
+            lastId = chunk.get(chunk.size() - 1);
+        }
+        return itemIds;
+    }
+
+    private static Stream<String> tokenize(String text) {
+        if (text == null)
+            return Stream.empty();
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty());
+    }
+
+    //    the tokens of an item, weighted by where they occur
+    @RequiredArgsConstructor
+    private static class IndexedItem {
+        private final Long itemId;
+
+        private final Long ownerId;
+
+        private final boolean available;
+
+        private final Map<String, Integer> weights;
+
+        static IndexedItem of(Item item) {
+            Map<String, Integer> weights = new HashMap<>();
+            tokenize(item.getName()).forEach(token -> weights.merge(token, NAME_WEIGHT, Integer::sum));
+            tokenize(item.getDescription()).forEach(token -> weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum));
+            return new IndexedItem(item.getId(), item.getOwner() != null ? item.getOwner().getId() : null,
+                    Boolean.TRUE.equals(item.getAvailable()), weights);
+        }
+    }
+
+    private static class Index {
+        //    token -> (item id -> weight of the token in the item)
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+        //    every suffix of every indexed token -> tokens ending with it, a word of the text matches anywhere
+        //    in a token
+        private final NavigableMap<String, Set<String>> tokensBySuffix = new TreeMap<>();
+
+        private final Map<Long, Set<String>> tokensByItemId = new HashMap<>();
+
+        private final Map<Long, Set<Long>> itemIdsByOwnerId = new HashMap<>();
+
+        private final Map<Long, Long> ownerIdByItemId = new HashMap<>();
+
+        private final NavigableSet<Long> availableItemIds = new TreeSet<>();
+
+        void put(IndexedItem item) {
+            removeTokens(item.itemId);
+            item.weights.forEach((token, weight) -> postings.computeIfAbsent(token, this::addSuffixes)
+                    .put(item.itemId, weight));
+            tokensByItemId.put(item.itemId, item.weights.keySet());
+            if (item.ownerId != null) {
+                ownerIdByItemId.put(item.itemId, item.ownerId);
+                itemIdsByOwnerId.computeIfAbsent(item.ownerId, key -> new HashSet<>()).add(item.itemId);
+            }
+            if (item.available)
+                availableItemIds.add(item.itemId);
+            else
+                availableItemIds.remove(item.itemId);
+        }
+
+        void removeOwner(Long ownerId) {
+            Set<Long> itemIds = itemIdsByOwnerId.remove(ownerId);
+            if (itemIds != null)
+                itemIds.forEach(this::removeItem);
+        }
+
+        //    a query token matches the tokens it is a prefix of a suffix of, whole and leading matches score higher
+        Map<Long, Integer> scoreInfix(String queryToken, Map<Long, Integer> candidates) {
+            Set<String> tokens = new HashSet<>();
+            tokensBySuffix.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(tokens::addAll);
+
+            Map<Long, Integer> tokenScores = new HashMap<>();
+            for (String token : tokens) {
+                int bonus = token.equals(queryToken) ? EXACT_MATCH_BONUS :
+                        token.startsWith(queryToken) ? PREFIX_MATCH_BONUS : 0;
+                postings.get(token).forEach((itemId, weight) -> {
+                    if (availableItemIds.contains(itemId) && (candidates == null || candidates.containsKey(itemId)))
+                        tokenScores.merge(itemId, weight + bonus, Math::max);
+                });
+            }
+            return tokenScores;
+        }
+
+        private Map<Long, Integer> addSuffixes(String token) {
+            for (int i = 0; i < token.length(); i++)
+                tokensBySuffix.computeIfAbsent(token.substring(i), key -> new HashSet<>()).add(token);
+            return new HashMap<>();
+        }
+
+        private void removeSuffixes(String token) {
+            for (int i = 0; i < token.length(); i++) {
+                String suffix = token.substring(i);
+                Set<String> tokens = tokensBySuffix.get(suffix);
+                if (tokens == null)
+                    continue;
+                tokens.remove(token);
+                if (tokens.isEmpty())
+                    tokensBySuffix.remove(suffix);
+            }
+        }
+
+        private void removeItem(Long itemId) {
+            removeTokens(itemId);
+            availableItemIds.remove(itemId);
+            Long ownerId = ownerIdByItemId.remove(itemId);
+            Set<Long> ownerItemIds = ownerId == null ? null : itemIdsByOwnerId.get(ownerId);
+            if (ownerItemIds != null) {
+                ownerItemIds.remove(itemId);
+                if (ownerItemIds.isEmpty())
+                    itemIdsByOwnerId.remove(ownerId);
+            }
+        }
+
+        private void removeTokens(Long itemId) {
+            Set<String> tokens = tokensByItemId.remove(itemId);
+            if (tokens == null)
+                return;
+            for (String token : tokens) {
+                Map<Long, Integer> itemWeights = postings.get(token);
+                if (itemWeights == null)
+                    continue;
+                itemWeights.remove(itemId);
+                if (itemWeights.isEmpty()) {
+                    postings.remove(token);
+                    removeSuffixes(token);
+                }
+            }
+        }
+    }
+}
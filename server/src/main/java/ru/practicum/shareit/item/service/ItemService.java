@@ -1,20 +1,41 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.Versioned;
+import ru.practicum.shareit.item.ItemAvailabilityDto;
+import ru.practicum.shareit.item.ItemCompactDto;
 import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.request.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ItemService {
     ItemDto add(Long userId, ItemDto itemDto);
 
     ItemDto edit(Long userId, Long itemId, ItemDto itemDto);
 
-    ItemDto getById(Long itemId, Long userId);
+    Versioned<ItemDto> getById(Long itemId, Long userId);
+
+    Versioned<ItemCompactDto> getCompactById(Long itemId, Long userId);
 
     List<ItemDto> getByOwnerId(Long userId, Integer from, Integer size);
 
+    List<ItemCompactDto> getCompactByOwnerId(Long userId, Integer from, Integer size);
+
     List<ItemDto> search(String text, Integer from, Integer size);
 
-    List<ItemDto> getByItemRequest(ItemRequest itemRequest);
+    List<ItemCompactDto> searchCompact(String text, Integer from, Integer size);
+
+    List<ItemDto> searchAvailable(String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size);
+
+    List<ItemCompactDto> searchCompactAvailable(String text, LocalDateTime start, LocalDateTime end, Integer from,
+                                                Integer size);
+
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    Map<Long, List<ItemDto>> getByItemRequestIds(Collection<Long> requestIds);
+
+    Versioned<List<ItemDto>> getByItemRequest(ItemRequest itemRequest);
 }
@@ -1,34 +1,52 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.ResourceVersion;
+import ru.practicum.shareit.Versioned;
+import ru.practicum.shareit.booking.index.BookingInterval;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentMapper;
 import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.item.ItemAvailabilityDto;
+import ru.practicum.shareit.item.ItemCompactDto;
 import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.TimeIntervalDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSnapshot;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.Objects;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class ItemServiceImpl implements ItemService {
+    private static final PageRequest FIRST = PageRequest.of(0, 1);
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
     public ItemDto add(Long userId, ItemDto itemDto) {
@@ -44,83 +62,273 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item item = itemRepository.save(itemToCreate);
-        return ItemMapper.toItemDto(item, bookingRepository.getBookingsByItem_Id(item.getId()), userId,
-                commentRepository.getCommentsByItem_Id(item.getId()).stream()
-                        .map(CommentMapper::toCommentDto)
-                        .collect(Collectors.toList()));
+        itemSearchIndex.index(item);
+        return withAllBookings(assembleItem(item, userId, ItemMapper::toItemDto)).getBody();
     }
 
     @Override
+    @CacheEvict(cacheNames = "items", key = "#itemId")
     public ItemDto edit(Long userId, Long itemId, ItemDto itemDto) {
-        Item oldItem = itemRepository.findById(itemId).orElse(null);
-        if (oldItem == null) {
-            throw new ItemNotFoundException("item " + itemId + " not found");
+        if (itemRepository.updateByIdAndOwnerId(itemId, userId, itemDto.getName(), itemDto.getDescription(),
+                itemDto.getAvailable(), LocalDateTime.now()) == 0) {
+            //    nothing was updated, the item is either missing or not the user's
+            Item item = findById(itemId);
+            throw new ItemEditingByNonOwnerException("user " + userId + " cannot edit item " + item.getId());
         }
 
-        if (!Objects.equals(oldItem.getOwner().getId(), userId))
-            throw new ItemEditingByNonOwnerException("user " + userId + " cannot edit item " + itemId);
-        Item newItem = ItemMapper.toItem(itemDto);
-        if (newItem.getName() != null)
-            oldItem.setName(newItem.getName());
-        if (newItem.getDescription() != null)
-            oldItem.setDescription(newItem.getDescription());
-        if (newItem.getAvailable() != null)
-            oldItem.setAvailable(newItem.getAvailable());
-        Item updatedItem = itemRepository.save(oldItem);
-        return ItemMapper.toItemDto(updatedItem,
-                bookingRepository.getBookingsByItem_Id(updatedItem.getId()), userId,
-                commentRepository.getCommentsByItem_Id(itemId).stream()
-                        .map(CommentMapper::toCommentDto)
-                        .collect(Collectors.toList()));
+        Item updatedItem = itemRepository.getItemsByIdIn(List.of(itemId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ItemNotFoundException("item " + itemId + " not found"));
+        itemSearchIndex.index(updatedItem);
+        return withAllBookings(assembleItem(updatedItem, userId, ItemMapper::toItemDto)).getBody();
     }
 
     @Override
-    public ItemDto getById(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId).orElse(null);
-        if (item == null)
-            throw new ItemNotFoundException("item with id " + itemId + " not found");
+    public Versioned<ItemDto> getById(Long itemId, Long userId) {
+        return withAllBookings(assembleItem(findById(itemId), userId, ItemMapper::toItemDto));
+    }
 
-        return ItemMapper.toItemDto(item, bookingRepository.getBookingsByItem_Id(itemId), userId,
-                commentRepository.getCommentsByItem_Id(itemId).stream()
-                        .map(CommentMapper::toCommentDto)
-                        .collect(Collectors.toList()));
+    @Override
+    public Versioned<ItemCompactDto> getCompactById(Long itemId, Long userId) {
+        return assembleItem(findById(itemId), userId, ItemMapper::toItemCompactDto);
     }
 
     @Override
     public List<ItemDto> getByOwnerId(Long userId, Integer from, Integer size) {
+        return withAllBookings(assembleItems(findByOwnerId(userId, from, size), userId, ItemMapper::toItemDto));
+    }
+
+    @Override
+    public List<ItemCompactDto> getCompactByOwnerId(Long userId, Integer from, Integer size) {
+        return assembleItems(findByOwnerId(userId, from, size), userId, ItemMapper::toItemCompactDto);
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Integer from, Integer size) {
+        return withAllBookings(assembleItems(findBySearch(text, from, size), null, ItemMapper::toItemDto));
+    }
+
+    @Override
+    public List<ItemCompactDto> searchCompact(String text, Integer from, Integer size) {
+        return assembleItems(findBySearch(text, from, size), null, ItemMapper::toItemCompactDto);
+    }
+
+    @Override
+    public List<ItemDto> searchAvailable(String text, LocalDateTime start, LocalDateTime end, Integer from,
+                                         Integer size) {
+        return withAllBookings(assembleItems(findAvailable(text, start, end, from, size), null,
+                ItemMapper::toItemDto));
+    }
+
+    @Override
+    public List<ItemCompactDto> searchCompactAvailable(String text, LocalDateTime start, LocalDateTime end,
+                                                       Integer from, Integer size) {
+        return assembleItems(findAvailable(text, start, end, from, size), null, ItemMapper::toItemCompactDto);
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        checkWindow(from, to);
+        Item item = findById(itemId);
+
+        //    bookings come ordered by start, so overlapping ones are merged in a single pass
+        List<TimeIntervalDto> busy = new ArrayList<>();
+        for (BookingInterval interval : bookingIntervalIndex.getOverlapping(item.getId(), from, to)) {
+            LocalDateTime start = interval.getStart().isBefore(from) ? from : interval.getStart();
+            LocalDateTime end = interval.getEnd().isAfter(to) ? to : interval.getEnd();
+            TimeIntervalDto last = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+            if (last != null && !start.isAfter(last.getEnd())) {
+                if (end.isAfter(last.getEnd()))
+                    last.setEnd(end);
+            } else {
+                busy.add(new TimeIntervalDto(start, end));
+            }
+        }
+
+        List<TimeIntervalDto> free = new ArrayList<>();
+        LocalDateTime freeStart = from;
+        for (TimeIntervalDto interval : busy) {
+            if (freeStart.isBefore(interval.getStart()))
+                free.add(new TimeIntervalDto(freeStart, interval.getStart()));
+            freeStart = interval.getEnd();
+        }
+        if (freeStart.isBefore(to))
+            free.add(new TimeIntervalDto(freeStart, to));
+
+        return ItemMapper.toItemAvailabilityDto(item, from, to, free, busy);
+    }
+
+    @Override
+    public Map<Long, List<ItemDto>> getByItemRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty())
+            return new HashMap<>();
+
+        return itemRepository.getItemsByRequestIdIn(requestIds).stream()
+                .map(ItemMapper::toItemAnswerDto)
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+    }
+
+    @Override
+    public Versioned<List<ItemDto>> getByItemRequest(ItemRequest itemRequest) {
+        List<Item> items = itemRepository.getItemsByRequestIdIn(List.of(itemRequest.getId()));
+
+        ResourceVersion version = new ResourceVersion();
+        items.forEach(item -> withItem(version, item));
+        return new Versioned<>(items.stream()
+                .map(ItemMapper::toItemAnswerDto)
+                .collect(Collectors.toList()), version);
+    }
+
+    private static ResourceVersion withItem(ResourceVersion version, Item item) {
+        return version
+                .with("i", item.getId(), item.getVersion(), item.getUpdated())
+                .with("o", item.getOwner().getId(), item.getOwner().getVersion(), item.getOwner().getUpdated());
+    }
+
+    private static ResourceVersion withBooking(ResourceVersion version, String kind, Booking booking) {
+        return version
+                .with(kind, booking.getId(), booking.getVersion(), booking.getUpdated())
+                .with(kind + "u", booking.getBooker().getId(), booking.getBooker().getVersion(),
+                        booking.getBooker().getUpdated());
+    }
+
+    //    a copy of the cached item, to read and render
+    private Item findById(Long itemId) {
+        return itemRepository.getSnapshotById(itemId)
+                .map(ItemSnapshot::toItem)
+                .orElseThrow(() -> new ItemNotFoundException("item with id " + itemId + " not found"));
+    }
+
+    private List<Item> findByOwnerId(Long userId, Integer from, Integer size) {
         int page = from / size;
 
         return itemRepository.findItemsByOwner_Id(PageRequest.of(page, size), userId).stream()
-                .map(nextItem -> ItemMapper.toItemDto(nextItem,
-                        bookingRepository.getBookingsByItem_Id(nextItem.getId()),
-                        userId, commentRepository.getCommentsByItem_Id(nextItem.getId()).stream()
-                                .map(CommentMapper::toCommentDto)
-                                .collect(Collectors.toList())))
-                .sorted(Comparator.comparing(ItemDto::getId))
+                .sorted(Comparator.comparing(Item::getId))
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public List<ItemDto> search(String text, Integer from, Integer size) {
+    private List<Item> findBySearch(String text, Integer from, Integer size) {
         int page = from / size;
 
-        return itemRepository.findItemsByDescriptionContainingIgnoreCaseAndAvailableIsTrue(PageRequest.of(page, size), text.toLowerCase()).stream()
-                .map(nextItem -> ItemMapper.toItemDto(nextItem,
-                        bookingRepository.getBookingsByItem_Id(nextItem.getId()),
-                        null, commentRepository.getCommentsByItem_Id(nextItem.getId()).stream()
-                                .map(CommentMapper::toCommentDto)
-                                .collect(Collectors.toList())))
+        return findAllById(itemSearchIndex.search(text, page * size, size));
+    }
+
+    //    items in the order of the ids
+    private List<Item> findAllById(List<Long> itemIds) {
+        if (itemIds.isEmpty())
+            return new ArrayList<>();
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public List<ItemDto> getByItemRequest(ItemRequest itemRequest) {
-        return itemRepository.getItemsByRequest(itemRequest).stream()
-                .map(nextItem -> ItemMapper.toItemDto(nextItem,
-                        bookingRepository.getBookingsByItem_Id(nextItem.getId()),
-                        null, commentRepository.getCommentsByItem_Id(nextItem.getId()).stream()
-                                .map(CommentMapper::toCommentDto)
-                                .collect(Collectors.toList())))
+    //    items without bookings in [start, end), matching the text if there is one
+    private List<Item> findAvailable(String text, LocalDateTime start, LocalDateTime end, Integer from,
+                                     Integer size) {
+        checkWindow(start, end);
+        Predicate<Long> isFree = itemId -> bookingIntervalIndex.isFree(itemId, start, end);
+        int page = from / size;
+        List<Long> itemIds = text == null || text.isBlank() ? itemSearchIndex.getAvailable(page * size, size, isFree) :
+                itemSearchIndex.search(text, page * size, size, isFree);
+        return findAllById(itemIds);
+    }
+
+    private static void checkWindow(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to))
+            throw new AvailabilityWindowIsIncorrectException("window from " + from + " to " + to + " is incorrect");
+    }
+
+    //    v1 items list every booking of the item to every caller, as they always have; the bookings are added
+    //    to the version, which is then sent as a digest if it gets long
+    private Versioned<ItemDto> withAllBookings(Versioned<ItemDto> item) {
+        Set<Booking> bookings = findAllBookings(List.of(item.getBody())).get(item.getBody().getId());
+        if (bookings != null) {
+            item.getBody().setBookings(bookings);
+            bookings.forEach(booking -> withBooking(item.getVersion(), "b", booking));
+        }
+        return item;
+    }
+
+    private List<ItemDto> withAllBookings(List<ItemDto> items) {
+        Map<Long, Set<Booking>> bookingsByItemId = findAllBookings(items);
+        items.forEach(item -> item.setBookings(bookingsByItemId.getOrDefault(item.getId(), new LinkedHashSet<>())));
+        return items;
+    }
+
+    private Map<Long, Set<Booking>> findAllBookings(List<ItemDto> items) {
+        if (items.isEmpty())
+            return new HashMap<>();
+
+        return bookingRepository.getBookingsByItemIdIn(items.stream()
+                        .map(ItemDto::getId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
+                        Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    //    the version is taken from the same item and bookings the response is rendered from
+    private <T> Versioned<T> assembleItem(Item item, Long userId, ItemAssembler<T> assembler) {
+        ResourceVersion version = withItem(new ResourceVersion(), item);
+        Booking lastBooking = null;
+        Booking nextBooking = null;
+        if (Objects.equals(item.getOwner().getId(), userId)) {
+            LocalDateTime now = LocalDateTime.now();
+            version.timeDependent();
+            lastBooking = bookingRepository.getLastByItemId(item.getId(), now, FIRST).stream().findFirst()
+                    .orElse(null);
+            nextBooking = bookingRepository.getNextByItemId(item.getId(), now, FIRST).stream().findFirst()
+                    .orElse(null);
+            if (lastBooking != null)
+                withBooking(version, "l", lastBooking);
+            if (nextBooking != null)
+                withBooking(version, "n", nextBooking);
+        }
+
+        return new Versioned<>(assembler.assemble(item, lastBooking, nextBooking, userId,
+                commentRepository.getCommentsByItem_Id(item.getId()).stream()
+                        .map(CommentMapper::toCommentDto)
+                        .collect(Collectors.toList())), version);
+    }
+
+    private <T> List<T> assembleItems(List<Item> items, Long userId, ItemAssembler<T> assembler) {
+        if (items.isEmpty())
+            return new ArrayList<>();
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        List<Long> ownedItemIds = items.stream()
+                .filter(nextItem -> Objects.equals(nextItem.getOwner().getId(), userId))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = ownedItemIds.isEmpty() ? new HashMap<>() :
+                bookingRepository.getLastBookingsByItemIds(ownedItemIds, now).stream()
+                        .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                                BinaryOperator.maxBy(Comparator.comparing(Booking::getId))));
+        Map<Long, Booking> nextBookings = ownedItemIds.isEmpty() ? new HashMap<>() :
+                bookingRepository.getNextBookingsByItemIds(ownedItemIds, now).stream()
+                        .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                                BinaryOperator.minBy(Comparator.comparing(Booking::getId))));
+
+        Map<Long, List<CommentDto>> commentsByItemId = commentRepository.getCommentsByItem_IdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+
+        return items.stream()
+                .map(nextItem -> assembler.assemble(nextItem,
+                        lastBookings.get(nextItem.getId()), nextBookings.get(nextItem.getId()), userId,
+                        commentsByItemId.getOrDefault(nextItem.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
+
+    private interface ItemAssembler<T> {
+        T assemble(Item item, Booking lastBooking, Booking nextBooking, Long userId, List<CommentDto> comments);
+    }
 }
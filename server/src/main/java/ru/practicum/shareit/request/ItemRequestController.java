@@ -3,6 +3,9 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.ApiMediaType;
+import ru.practicum.shareit.Versioned;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -40,11 +43,16 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestDto getByRequestId(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long requestId) {
+    public ItemRequestDto getByRequestId(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long requestId,
+                                         WebRequest webRequest) {
 
         log.info("GET /requests/{}", requestId);
 
-        return itemRequestService.getByRequestId(userId, requestId);
+        Versioned<ItemRequestDto> itemRequest = itemRequestService.getByRequestId(userId, requestId);
+        if (webRequest.checkNotModified(itemRequest.getVersion().getEtag(ApiMediaType.V1),
+                itemRequest.getVersion().getLastModified()))
+            return null;
+        return itemRequest.getBody();
     }
 
 }
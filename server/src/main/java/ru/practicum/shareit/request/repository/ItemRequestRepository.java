@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -9,7 +10,8 @@ import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> getItemRequestsByRequestor(User requestor);
+    List<ItemRequest> getItemRequestsByRequestorOrderByCreatedDesc(User requestor);
 
-    List<ItemRequest> getItemRequestsByRequestorIsNot(Pageable pageable, User requestor);
+    @EntityGraph(attributePaths = {"requestor"})
+    List<ItemRequest> getItemRequestsByRequestorIsNotOrderByCreatedDesc(Pageable pageable, User requestor);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.Versioned;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
 
@@ -13,5 +14,5 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllByPages(Long userId, Integer from, Integer size);
 
-    ItemRequestDto getByRequestId(Long userId, Long requestId);
+    Versioned<ItemRequestDto> getByRequestId(Long userId, Long requestId);
 }
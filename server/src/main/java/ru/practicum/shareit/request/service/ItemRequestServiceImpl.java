@@ -3,19 +3,23 @@ package ru.practicum.shareit.request.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.Versioned;
 import ru.practicum.shareit.exception.ItemRequestNotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.model.UserSnapshot;
+import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,14 +27,14 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
 
-    private final UserService userService;
+    private final UserRepository userRepository;
 
     private final ItemService itemService;
 
     @Override
     public ItemRequestDto add(Long requestorId, ItemRequestDtoInput itemRequestDtoInput) {
 
-        User requestor = UserMapper.toUser(userService.getById(requestorId));
+        User requestor = findUser(requestorId);
 
         ItemRequest newItemRequest = itemRequestRepository.save(
                 ItemRequestMapper.toItemRequest(requestor, itemRequestDtoInput));
@@ -40,38 +44,64 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> getByRequestorId(Long requestorId) {
-        User requestor = UserMapper.toUser(userService.getById(requestorId));
-        List<ItemRequest> itemRequests = itemRequestRepository.getItemRequestsByRequestor(requestor);
+        User requestor = findCachedUser(requestorId);
+        List<ItemRequest> itemRequests = itemRequestRepository.getItemRequestsByRequestorOrderByCreatedDesc(requestor);
 
-        return itemRequests.stream().map(
-                        nextItemRequest -> ItemRequestMapper.toItemRequestDto(nextItemRequest,
-                                itemService.getByItemRequest(nextItemRequest)))
-                .collect(Collectors.toList());
+        return assembleItemRequests(itemRequests);
     }
 
     @Override
     public List<ItemRequestDto> getAllByPages(Long userId, Integer from, Integer size) {
         int page = from / size;
 
-        User user = UserMapper.toUser(userService.getById(userId));
-        List<ItemRequest> itemRequests = itemRequestRepository.getItemRequestsByRequestorIsNot(
+        User user = findCachedUser(userId);
+        List<ItemRequest> itemRequests = itemRequestRepository.getItemRequestsByRequestorIsNotOrderByCreatedDesc(
                 PageRequest.of(page, size), user);
 
-        return itemRequests.stream().map(
-                        nextItemRequest -> ItemRequestMapper.toItemRequestDto(nextItemRequest,
-                                itemService.getByItemRequest(nextItemRequest)))
-                .collect(Collectors.toList());
+        return assembleItemRequests(itemRequests);
     }
 
     @Override
-    public ItemRequestDto getByRequestId(Long userId, Long requestId) {
-        UserMapper.toUser(userService.getById(userId));
+    public Versioned<ItemRequestDto> getByRequestId(Long userId, Long requestId) {
+        ItemRequest itemRequest = findById(userId, requestId);
+
+        Versioned<List<ItemDto>> items = itemService.getByItemRequest(itemRequest);
+        return new Versioned<>(ItemRequestMapper.toItemRequestDto(itemRequest, items.getBody()),
+                items.getVersion().with("r", itemRequest.getId(), null, itemRequest.getCreated()));
+    }
+
+    //    the answers to all the requests are loaded at once
+    private List<ItemRequestDto> assembleItemRequests(List<ItemRequest> itemRequests) {
+        Map<Long, List<ItemDto>> itemsByRequestId = itemService.getByItemRequestIds(itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList()));
+
+        return itemRequests.stream()
+                .map(nextItemRequest -> ItemRequestMapper.toItemRequestDto(nextItemRequest,
+                        itemsByRequestId.getOrDefault(nextItemRequest.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    private ItemRequest findById(Long userId, Long requestId) {
+        findCachedUser(userId);
 
         ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElse(null);
         if (itemRequest == null)
             throw new ItemRequestNotFoundException("item request " + requestId + " not found");
+        return itemRequest;
+    }
+
+    //    a copy of the cached user, to check that the user exists or to query by
+    private User findCachedUser(Long userId) {
+        return userRepository.getSnapshotById(userId)
+                .map(UserSnapshot::toUser)
+                .orElseThrow(() -> new UserNotFoundException("user with id " + userId + " not found"));
+    }
 
-        return ItemRequestMapper.toItemRequestDto(itemRequest,
-                itemService.getByItemRequest(itemRequest));
+    private User findUser(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null)
+            throw new UserNotFoundException("user with id " + userId + " not found");
+        return user;
     }
 }
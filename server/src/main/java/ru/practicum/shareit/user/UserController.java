@@ -3,6 +3,9 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.ApiMediaType;
+import ru.practicum.shareit.Versioned;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -28,9 +31,13 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto getById(@PathVariable Long userId) {
+    public UserDto getById(@PathVariable Long userId, WebRequest webRequest) {
         log.info("GET /users/{}", userId);
-        return userService.getById(userId);
+        Versioned<UserDto> user = userService.getById(userId);
+        if (webRequest.checkNotModified(user.getVersion().getEtag(ApiMediaType.V1),
+                user.getVersion().getLastModified()))
+            return null;
+        return user.getBody();
     }
 
     @PatchMapping("/{userId}")
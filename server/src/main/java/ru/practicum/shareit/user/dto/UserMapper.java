@@ -11,6 +11,13 @@ public class UserMapper {
         return userDto;
     }
 
+    public static UserShortDto toUserShortDto(User user) {
+        UserShortDto userShortDto = new UserShortDto();
+        userShortDto.setId(user.getId());
+        userShortDto.setName(user.getName());
+        return userShortDto;
+    }
+
     public static User toUser(UserDto userDto) {
         User user = new User();
         user.setId(userDto.getId());
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.Data;
+
+@Data
+public class UserShortDto {
+    private Long id;
+
+    private String name;
+}
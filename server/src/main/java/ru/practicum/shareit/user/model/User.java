@@ -1,21 +1,27 @@
 package ru.practicum.shareit.user.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Getter
 @Setter
 @RequiredArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
 @Table(name = "users", schema = "public")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Long id;
 
@@ -28,6 +34,16 @@ public class User {
     @Column(name = "user_email", nullable = false)
     private String email;
 
+    @JsonIgnore
+    @Version
+    @Column(name = "user_version", nullable = false)
+    private Long version;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "user_updated", nullable = false)
+    private LocalDateTime updated;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.user.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+//    an immutable copy of a user, the form in which users are cached and shared between threads
+@Getter
+@RequiredArgsConstructor
+public class UserSnapshot {
+    private final Long id;
+
+    private final String name;
+
+    private final String email;
+
+    private final Long version;
+
+    private final LocalDateTime updated;
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getName(), user.getEmail(), user.getVersion(), user.getUpdated());
+    }
+
+    //    a new detached user for one caller, to read or render but not to save
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(email);
+        user.setVersion(version);
+        user.setUpdated(updated);
+        return user;
+    }
+}
@@ -1,9 +1,18 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.model.UserSnapshot;
 
+import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
 
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    //    cached as an immutable snapshot, a cached entity would be one mutable object shared by every thread
+    @Cacheable(cacheNames = "users", unless = "#result == null")
+    default Optional<UserSnapshot> getSnapshotById(Long id) {
+        return findById(id).map(UserSnapshot::of);
+    }
 }
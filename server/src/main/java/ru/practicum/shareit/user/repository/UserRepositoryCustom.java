@@ -0,0 +1,9 @@
+package ru.practicum.shareit.user.repository;
+
+import java.time.LocalDateTime;
+
+public interface UserRepositoryCustom {
+
+    //    updates only the given fields, null fields are left as they are; returns the number of updated rows
+    int updateById(Long userId, String name, String email, LocalDateTime updated);
+}
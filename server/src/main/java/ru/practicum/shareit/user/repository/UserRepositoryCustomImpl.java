@@ -0,0 +1,35 @@
+package ru.practicum.shareit.user.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateById(Long userId, String name, String email, LocalDateTime updated) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<User> update = builder.createCriteriaUpdate(User.class);
+        Root<User> user = update.from(User.class);
+        if (name != null)
+            update.set(user.<String>get("name"), name);
+        if (email != null)
+            update.set(user.<String>get("email"), email);
+        update.set(user.<Long>get("version"), builder.sum(user.<Long>get("version"), 1L));
+        update.set(user.<LocalDateTime>get("updated"), updated);
+        update.where(builder.equal(user.get("id"), userId));
+
+        int count = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return count;
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.Versioned;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -9,7 +10,7 @@ public interface UserService {
 
     UserDto save(UserDto user);
 
-    UserDto getById(Long id);
+    Versioned<UserDto> getById(Long id);
 
     UserDto update(UserDto userDto, Long userId);
 
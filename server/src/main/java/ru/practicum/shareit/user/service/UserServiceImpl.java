@@ -2,13 +2,22 @@ package ru.practicum.shareit.user.service;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.ResourceVersion;
+import ru.practicum.shareit.Versioned;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.model.UserSnapshot;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,6 +27,15 @@ public class UserServiceImpl implements UserService {
     @NonNull
     private UserRepository userRepository;
 
+    @NonNull
+    private ItemRepository itemRepository;
+
+    @NonNull
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @NonNull
+    private ItemSearchIndex itemSearchIndex;
+
     @Override
     public List<UserDto> getAll() {
         return userRepository.findAll().stream()
@@ -33,34 +51,48 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public UserDto getById(Long id) {
-        User user = userRepository.findById(id).orElse(null);
-        if (user == null) {
-            throw new UserNotFoundException("user with id " + id + " not found");
-        }
-        return UserMapper.toUserDto(user);
+    public Versioned<UserDto> getById(Long id) {
+        User user = findById(id);
+        return new Versioned<>(UserMapper.toUserDto(user),
+                new ResourceVersion().with("u", user.getId(), user.getVersion(), user.getUpdated()));
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "users", key = "#userId"),
+            @CacheEvict(cacheNames = "items", allEntries = true)
+    })
     public UserDto update(UserDto userDto, Long userId) {
-        User oldUser = userRepository.findById(userId).orElse(null);
-        User newUser = UserMapper.toUser(userDto);
-        if (oldUser == null)
+        LocalDateTime now = LocalDateTime.now();
+        //    a taken email is refused by the unique index of the users table
+        if (userRepository.updateById(userId, userDto.getName(), userDto.getEmail(), now) == 0)
             throw new UserNotFoundException("user with id " + userId + " not found");
-        newUser.setId(userId);
-        if (newUser.getName() == null)
-            newUser.setName(oldUser.getName());
-        if (newUser.getEmail() == null)
-            newUser.setEmail(oldUser.getEmail());
-        User updatedUser = userRepository.save(newUser);
+        if (userDto.getName() != null)
+            itemRepository.touchCommentedBy(userId, now);
+
+        User updatedUser = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("user with id " + userId + " not found"));
         return UserMapper.toUserDto(updatedUser);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "users", key = "#id"),
+            @CacheEvict(cacheNames = "items", allEntries = true)
+    })
     public void delete(Long id) {
         User userToDelete = userRepository.findById(id).orElse(null);
         if (userToDelete == null)
             throw new UserNotFoundException("user " + id + " not found");
         userRepository.delete(userToDelete);
+        bookingIntervalIndex.removeBooker(id);
+        //    the items of the user are deleted by the database along with it
+        itemSearchIndex.removeOwner(id);
+    }
+
+    private User findById(Long id) {
+        return userRepository.getSnapshotById(id)
+                .map(UserSnapshot::toUser)
+                .orElseThrow(() -> new UserNotFoundException("user with id " + id + " not found"));
     }
 }
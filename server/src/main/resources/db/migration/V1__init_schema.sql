@@ -8,7 +8,7 @@ CREATE TABLE IF NOT EXISTS requests (
     request_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
     request_description VARCHAR(512) NOT NULL,
     requestor BIGINT REFERENCES users (user_id) ON DELETE CASCADE ON UPDATE CASCADE,
-    request_created timestamptz
+    request_created TIMESTAMP WITH TIME ZONE
     );
 
 CREATE TABLE IF NOT EXISTS items (
@@ -27,8 +27,8 @@ CREATE TABLE IF NOT EXISTS booking_statuses (
 
 CREATE TABLE IF NOT EXISTS bookings (
     booking_id BIGINT NOT NULL GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    booking_start timestamptz NOT NULL,
-    booking_end timestamptz NOT NULL,
+    booking_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    booking_end TIMESTAMP WITH TIME ZONE NOT NULL,
     item BIGINT REFERENCES items (item_id) ON DELETE CASCADE ON UPDATE CASCADE NOT NULL,
     booker BIGINT REFERENCES users (user_id) ON DELETE CASCADE ON UPDATE CASCADE NOT NULL,
     booking_status VARCHAR(20) NOT NULL
@@ -39,5 +39,5 @@ CREATE TABLE IF NOT EXISTS comments (
     comment_text VARCHAR(4096) NOT NULL,
     comment_item BIGINT REFERENCES items (item_id) ON DELETE CASCADE ON UPDATE CASCADE NOT NULL,
     comment_author BIGINT REFERENCES users (user_id) ON DELETE CASCADE ON UPDATE CASCADE NOT NULL,
-    comment_created timestamptz NOT NULL
+    comment_created TIMESTAMP WITH TIME ZONE NOT NULL
 );
\ No newline at end of file
@@ -0,0 +1,19 @@
+-- booker lists: booker = ? and status in (?) order by booking_start desc, booking_id desc
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker, booking_start DESC, booking_id DESC);
+
+-- finished bookings of a booker: booker = ? and booking_end < ?
+CREATE INDEX IF NOT EXISTS bookings_booker_end_idx ON bookings (booker, booking_end);
+
+-- owner lists join bookings to the items of an owner
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (item_owner, item_id);
+
+-- answers to a request
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (item_request);
+
+-- comments of an item or of a page of items
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (comment_item);
+
+-- own requests and the requests feed, newest first
+CREATE INDEX IF NOT EXISTS requests_requestor_created_idx ON requests (requestor, request_created DESC);
+
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (request_created DESC);
@@ -0,0 +1,16 @@
+-- finished bookings of a booker for an item: booker = ? and item = ? and booking_end < ?
+CREATE INDEX IF NOT EXISTS bookings_booker_item_end_idx ON bookings (booker, item, booking_end);
+
+-- the earliest end of an approved booking of an item by a booker, one row per booker and item
+CREATE TABLE IF NOT EXISTS completed_stays (
+    stay_booker BIGINT REFERENCES users (user_id) ON DELETE CASCADE ON UPDATE CASCADE NOT NULL,
+    stay_item BIGINT REFERENCES items (item_id) ON DELETE CASCADE ON UPDATE CASCADE NOT NULL,
+    stay_end TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (stay_booker, stay_item)
+    );
+
+INSERT INTO completed_stays (stay_booker, stay_item, stay_end)
+SELECT b.booker, b.item, MIN(b.booking_end)
+FROM bookings b
+WHERE b.booking_status = 'APPROVED'
+GROUP BY b.booker, b.item;
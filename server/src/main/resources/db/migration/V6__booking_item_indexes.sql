@@ -0,0 +1,4 @@
+-- last and next bookings of an item: item = ? and booking_end < ? / item = ? and booking_start > ?
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item, booking_start);
+
+CREATE INDEX IF NOT EXISTS bookings_item_end_idx ON bookings (item, booking_end);
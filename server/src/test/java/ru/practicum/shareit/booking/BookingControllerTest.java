@@ -0,0 +1,184 @@
+package ru.practicum.shareit.booking;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.ApiMediaType;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//    booking lists are paged by a (start, id) cursor, v2 answers reference related objects by id and name,
+//    and single bookings are answered 304 while their ETag still matches
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class BookingControllerTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item drill;
+    private Item screwdriver;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        owner = userRepository.save(user("owner" + suffix));
+        booker = userRepository.save(user("booker" + suffix));
+        drill = itemRepository.save(item("Дрель"));
+        screwdriver = itemRepository.save(item("Отвертка"));
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void pagesByCursorInStartAndIdOrder() throws Exception {
+        //    bookings of two items starting at the same time are told apart by id
+        Long first = book(drill, 0);
+        Long second = book(screwdriver, 0);
+        Long third = book(drill, 1);
+        Long fourth = book(screwdriver, 1);
+        Long fifth = book(drill, 2);
+
+        List<Number> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/bookings")
+                    .header(USER_HEADER, booker.getId())
+                    .param("state", "ALL")
+                    .param("from", "0")
+                    .param("size", "2");
+            if (cursor != null)
+                request.param("cursor", cursor);
+            MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            ids.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].id"));
+            cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).extracting(Number::longValue).containsExactly(fifth, fourth, third, second, first);
+    }
+
+    @Test
+    void answersCompactBookingsForV2() throws Exception {
+        Long bookingId = book(drill, 0);
+
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header(USER_HEADER, owner.getId())
+                        .accept(ApiMediaType.V2_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.id").value(drill.getId()))
+                .andExpect(jsonPath("$.item.name").value("Дрель"))
+                .andExpect(jsonPath("$.item.owner").doesNotExist())
+                .andExpect(jsonPath("$.booker.id").value(booker.getId()))
+                .andExpect(jsonPath("$.booker.email").doesNotExist());
+        mockMvc.perform(get("/bookings")
+                        .header(USER_HEADER, booker.getId())
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "10")
+                        .accept(ApiMediaType.V2_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingId))
+                .andExpect(jsonPath("$[0].item.owner").doesNotExist());
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.owner.id").value(owner.getId()));
+    }
+
+    @Test
+    void answersNotModifiedWhileEtagMatches() throws Exception {
+        Long bookingId = book(drill, 0);
+
+        String etag = mockMvc.perform(get("/bookings/{bookingId}", bookingId).header(USER_HEADER, booker.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String compactEtag = mockMvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header(USER_HEADER, booker.getId())
+                        .accept(ApiMediaType.V2_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull().isNotEqualTo(compactEtag);
+
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header(USER_HEADER, booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header(USER_HEADER, booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, compactEtag)
+                        .accept(ApiMediaType.V2_JSON))
+                .andExpect(status().isNotModified());
+
+        bookingService.setApproveById(bookingId, true, owner.getId());
+
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header(USER_HEADER, booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.status").value("APPROVED"));
+    }
+
+    private Long book(Item item, int day) {
+        BookingDtoInput input = new BookingDtoInput();
+        input.setItemId(item.getId());
+        input.setStart(start.plusDays(day));
+        input.setEnd(start.plusDays(day).plusHours(1));
+        return bookingService.add(input, booker.getId()).getId();
+    }
+
+    private Item item(String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return item;
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.com");
+        return user;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.index;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingIntervalIndexTest {
+    private static final Long ITEM_ID = 1L;
+
+    @Test
+    void dropsEndedIntervalsWhenTheItemIsBooked() {
+        BookingIntervalIndex index = new BookingIntervalIndex(null);
+        LocalDateTime now = LocalDateTime.now();
+        index.update(booking(1L, now.minusDays(3), now.minusDays(2)));
+        index.update(booking(2L, now.minusDays(1), now.plusDays(1)));
+
+        index.admit(ITEM_ID, now.plusDays(2), now.plusDays(3), () -> booking(3L, now.plusDays(2), now.plusDays(3)));
+
+        assertThat(ids(index.getOverlapping(ITEM_ID, now.minusDays(4), now.plusDays(4)))).containsExactly(2L, 3L);
+    }
+
+    private static List<Long> ids(List<BookingInterval> intervals) {
+        return intervals.stream().map(BookingInterval::getBookingId).collect(Collectors.toList());
+    }
+
+    private static Booking booking(Long id, LocalDateTime start, LocalDateTime end) {
+        Item item = new Item();
+        item.setId(ITEM_ID);
+        User booker = new User();
+        booker.setId(10L);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.APPROVED);
+        return booking;
+    }
+}
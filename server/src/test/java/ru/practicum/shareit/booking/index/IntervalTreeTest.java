@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    void findsOverlappingIntervalsInOrderOfStart() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(interval(1L, 0, 100));
+        tree.add(interval(2L, 10, 20));
+        tree.add(interval(3L, 30, 40));
+        tree.add(interval(4L, 40, 50));
+
+        assertThat(ids(tree.getOverlapping(at(15), at(41)))).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(ids(tree.getOverlapping(at(100), at(200)))).isEmpty();
+        assertThat(tree.findOverlapping(at(20), at(30)).getBookingId()).isEqualTo(1L);
+
+        tree.remove(interval(1L, 0, 100));
+
+        assertThat(tree.findOverlapping(at(20), at(30))).isNull();
+        assertThat(ids(tree.getOverlapping(at(15), at(41)))).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    void agreesWithFullScan() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<BookingInterval> intervals = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            int start = random.nextInt(10_000);
+            BookingInterval interval = interval(id, start, start + 1 + random.nextInt(id % 100 == 0 ? 5000 : 50));
+            tree.add(interval);
+            intervals.add(interval);
+            if (random.nextInt(4) == 0) {
+                BookingInterval removed = intervals.remove(random.nextInt(intervals.size()));
+                tree.remove(removed);
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            int start = random.nextInt(11_000);
+            LocalDateTime from = at(start);
+            LocalDateTime to = at(start + 1 + random.nextInt(100));
+            List<Long> expected = intervals.stream()
+                    .filter(interval -> interval.overlaps(from, to))
+                    .sorted(Comparator.comparing(BookingInterval::getStart)
+                            .thenComparing(BookingInterval::getBookingId))
+                    .map(BookingInterval::getBookingId)
+                    .collect(Collectors.toList());
+
+            assertThat(ids(tree.getOverlapping(from, to))).isEqualTo(expected);
+            BookingInterval first = tree.findOverlapping(from, to);
+            assertThat(first == null ? null : first.getBookingId()).isEqualTo(expected.isEmpty() ? null : expected.get(0));
+        }
+    }
+
+    private static List<Long> ids(List<BookingInterval> intervals) {
+        return intervals.stream().map(BookingInterval::getBookingId).collect(Collectors.toList());
+    }
+
+    private static BookingInterval interval(Long id, int start, int end) {
+        return new BookingInterval(id, 1L, 1L, at(start), at(end));
+    }
+
+    private static LocalDateTime at(int hours) {
+        return ORIGIN.plusHours(hours);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingIntervalIsOccupiedException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//    many bookers ask for overlapping intervals of one item at the same moment, only one of them may get it
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@DirtiesContext
+class BookingAdmissionTest {
+    private static final int BOOKERS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void admitsOnlyOneOfParallelOverlappingBookings() throws Exception {
+        User owner = userRepository.save(user("owner"));
+        Item item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++)
+            bookers.add(userRepository.save(user("booker" + i)));
+
+        //    every interval contains the hour after start + BOOKERS hours, so any two of them overlap
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        CountDownLatch ready = new CountDownLatch(BOOKERS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<BookingDto>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < BOOKERS; i++) {
+                BookingDtoInput input = new BookingDtoInput();
+                input.setItemId(item.getId());
+                input.setStart(start.plusHours(i));
+                input.setEnd(start.plusHours(BOOKERS + 1 + i));
+                Long bookerId = bookers.get(i).getId();
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    return bookingService.add(input, bookerId);
+                }));
+            }
+            ready.await();
+            go.countDown();
+
+            int admitted = 0;
+            int refused = 0;
+            for (Future<BookingDto> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    admitted++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(BookingIntervalIsOccupiedException.class);
+                    refused++;
+                }
+            }
+
+            assertThat(admitted).isEqualTo(1);
+            assertThat(refused).isEqualTo(BOOKERS - 1);
+            assertThat(bookingRepository.count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.com");
+        return user;
+    }
+}
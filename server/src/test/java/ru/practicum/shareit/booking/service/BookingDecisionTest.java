@@ -0,0 +1,200 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.eligibility.CommentEligibility;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+//    owners decide bookings with conditional updates, and a booking changed by someone else in between is reported
+//    instead of being overwritten
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@DirtiesContext
+class BookingDecisionTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @SpyBean
+    private CommentEligibility commentEligibility;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        owner = userRepository.save(user("owner" + suffix));
+        booker = userRepository.save(user("booker" + suffix));
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reset(bookingRepository);
+    }
+
+    @Test
+    void decidesEveryBookingOfTheBatchOnce() {
+        Long approved = book(0);
+        Long rejected = book(1);
+        Long alreadyApproved = book(2);
+        bookingService.setApproveById(alreadyApproved, true, owner.getId());
+
+        List<BookingDecisionResultDto> results = bookingService.decideBatch(List.of(
+                decision(approved, true),
+                decision(rejected, false),
+                decision(approved, false),
+                decision(alreadyApproved, false),
+                decision(-1L, true)), owner.getId());
+
+        assertThat(results)
+                .extracting(BookingDecisionResultDto::getBookingId, BookingDecisionResultDto::getOutcome,
+                        BookingDecisionResultDto::getStatus)
+                .containsExactly(
+                        tuple(approved, BookingDecisionOutcome.APPROVED, BookingStatus.APPROVED),
+                        tuple(rejected, BookingDecisionOutcome.REJECTED, BookingStatus.REJECTED),
+                        tuple(alreadyApproved, BookingDecisionOutcome.ALREADY_APPROVED, BookingStatus.APPROVED),
+                        tuple(-1L, BookingDecisionOutcome.NOT_FOUND, null));
+        assertThat(bookingService.decideBatch(List.of(decision(rejected, true)), booker.getId()))
+                .extracting(BookingDecisionResultDto::getOutcome)
+                .containsExactly(BookingDecisionOutcome.NOT_OWNER);
+    }
+
+    @Test
+    void reportsBookingsChangedBetweenCheckAndUpdate() {
+        Long cancelled = book(0);
+        Long approved = book(1);
+        //    the booker cancels a booking after the batch has checked it and before it is updated
+        doAnswer(invocation -> {
+            Object targets = RepositoryConfig.target.getDecisionTargetsByIdIn(invocation.getArgument(0));
+            jdbcTemplate.update("update bookings set booking_status = 'CANCELLED' where booking_id = ?", cancelled);
+            return targets;
+        }).doAnswer(delegatesTo(RepositoryConfig.target)).when(bookingRepository).getDecisionTargetsByIdIn(any());
+
+        List<BookingDecisionResultDto> results = bookingService.decideBatch(List.of(
+                decision(cancelled, true),
+                decision(approved, true)), owner.getId());
+
+        assertThat(results)
+                .extracting(BookingDecisionResultDto::getBookingId, BookingDecisionResultDto::getOutcome,
+                        BookingDecisionResultDto::getStatus)
+                .containsExactly(
+                        tuple(cancelled, BookingDecisionOutcome.CHANGED_CONCURRENTLY, BookingStatus.CANCELLED),
+                        tuple(approved, BookingDecisionOutcome.APPROVED, BookingStatus.APPROVED));
+        assertThat(bookingRepository.findById(cancelled).orElseThrow().getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        verify(commentEligibility).recordApproved(List.of(approved));
+    }
+
+    @Test
+    void approvesRejectedBookingOnlyIfUnchangedSinceRead() {
+        Long approvedId = book(0);
+        bookingService.setApproveById(approvedId, false, owner.getId());
+
+        //    not WAITING any more, so the booking is read and updated with its version
+        assertThat(bookingService.setApproveById(approvedId, true, owner.getId()).getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+
+        Long bookingId = book(1);
+        bookingService.setApproveById(bookingId, false, owner.getId());
+        doAnswer(invocation -> {
+            jdbcTemplate.update("update bookings set booking_version = booking_version + 1 where booking_id = ?",
+                    bookingId);
+            return delegatesTo(RepositoryConfig.target).answer(invocation);
+        }).when(bookingRepository).setStatusByIdAndVersion(eq(bookingId), anyLong(), any(), any());
+
+        assertThatThrownBy(() -> bookingService.setApproveById(bookingId, true, owner.getId()))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(bookingRepository.findById(bookingId).orElseThrow().getStatus()).isEqualTo(BookingStatus.REJECTED);
+    }
+
+    //    the repository is replaced by a mock calling it, so a test can change a booking between two of its calls
+    @TestConfiguration
+    static class RepositoryConfig {
+        private static BookingRepository target;
+
+        @Bean
+        static BeanPostProcessor bookingRepositoryMock() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof BookingRepository))
+                        return bean;
+                    target = (BookingRepository) bean;
+                    return mock(BookingRepository.class, delegatesTo(bean));
+                }
+            };
+        }
+    }
+
+    private Long book(int day) {
+        BookingDtoInput input = new BookingDtoInput();
+        input.setItemId(item.getId());
+        input.setStart(start.plusDays(day));
+        input.setEnd(start.plusDays(day).plusHours(1));
+        return bookingService.add(input, booker.getId()).getId();
+    }
+
+    private static BookingDecisionDto decision(Long bookingId, boolean approved) {
+        BookingDecisionDto decision = new BookingDecisionDto();
+        decision.setBookingId(bookingId);
+        decision.setApproved(approved);
+        return decision;
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.com");
+        return user;
+    }
+}
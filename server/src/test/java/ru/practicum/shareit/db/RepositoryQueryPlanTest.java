@@ -0,0 +1,259 @@
+package ru.practicum.shareit.db;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingRepositoryCustom;
+import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.comment.eligibility.CompletedStayRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemRepositoryCustom;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.repository.UserRepositoryCustom;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//    calls every query method of the repositories against a filled and analyzed H2 database, records the SQL
+//    that Hibernate actually sends and fails when EXPLAIN plans one of those statements as a full table scan
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+    private static final String FULL_SCAN_MARKER = ".tableScan";
+    private static final int USERS = 2000;
+    private static final int REQUESTS = 2000;
+    private static final int ITEMS = 5000;
+    private static final int BOOKINGS = 20000;
+    private static final int COMMENTS = 5000;
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private static final Pageable FIRST = PageRequest.of(0, 1);
+    private static final List<BookingStatus> ALL_STATUSES = Arrays.asList(BookingStatus.values());
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
+
+    @Autowired
+    private StatementRecorder recorder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private CompletedStayRepository completedStayRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeAll
+    void fillDatabase() {
+        jdbcTemplate.update("insert into users (user_id, user_name, user_email) " +
+                "select x, 'user ' || x, 'user' || x || '@mail.com' from system_range(1, " + USERS + ")");
+        jdbcTemplate.update("insert into requests (request_id, request_description, requestor, request_created) " +
+                "select x, 'request ' || x, mod(x, " + USERS + ") + 1, dateadd('HOUR', -x, current_timestamp) " +
+                "from system_range(1, " + REQUESTS + ")");
+        jdbcTemplate.update("insert into items (item_id, item_name, item_description, item_available, item_owner, " +
+                "item_request) select x, 'item ' || x, 'description ' || x, true, mod(x, " + USERS + ") + 1, " +
+                "case when mod(x, 4) = 0 then mod(x, " + REQUESTS + ") + 1 end from system_range(1, " + ITEMS + ")");
+        jdbcTemplate.update("insert into bookings (booking_id, booking_start, booking_end, item, booker, " +
+                "booking_status) select x, dateadd('HOUR', x - " + BOOKINGS / 2 + ", current_timestamp), " +
+                "dateadd('HOUR', x - " + BOOKINGS / 2 + " + 2, current_timestamp), mod(x, " + ITEMS + ") + 1, " +
+                "mod(x * 7, " + USERS + ") + 1, case mod(x, 4) when 0 then 'WAITING' when 1 then 'APPROVED' " +
+                "when 2 then 'REJECTED' else 'CANCELLED' end from system_range(1, " + BOOKINGS + ")");
+        jdbcTemplate.update("insert into comments (comment_id, comment_text, comment_item, comment_author, " +
+                "comment_created) select x, 'comment ' || x, mod(x, " + ITEMS + ") + 1, mod(x * 7, " + USERS + ") + 1, " +
+                "current_timestamp from system_range(1, " + COMMENTS + ")");
+        jdbcTemplate.update("insert into completed_stays (stay_booker, stay_item, stay_end) " +
+                "select booker, item, min(booking_end) from bookings where booking_status = 'APPROVED' " +
+                "group by booker, item");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void bookingQueriesUseIndexes() {
+        QueryPlans plans = new QueryPlans(BookingRepository.class, BookingRepositoryCustom.class);
+
+        plans.check("findById", () -> bookingRepository.findById(1L));
+
+        //    every state filter of the booking lists, first pages and pages after a cursor, with both graphs
+        BookingCursor cursor = new BookingCursor(now, 100L);
+        for (BookingState state : List.of(BookingState.ALL, BookingState.CURRENT, BookingState.PAST)) {
+            for (BookingCursor after : Arrays.asList(null, cursor)) {
+                plans.check("getByBookerId", () -> bookingRepository.getByBookerId(1L, state, ALL_STATUSES, after,
+                        PAGE, BookingRepositoryCustom.DETAILS_GRAPH));
+                plans.check("getByOwnerId", () -> bookingRepository.getByOwnerId(1L, state, ALL_STATUSES, after,
+                        PAGE, BookingRepositoryCustom.DETAILS_GRAPH));
+            }
+        }
+        plans.check("getByBookerId", () -> bookingRepository.getByBookerId(1L, BookingState.ALL, ALL_STATUSES,
+                null, PAGE, BookingRepositoryCustom.COMPACT_GRAPH));
+        plans.check("getByOwnerId", () -> bookingRepository.getByOwnerId(1L, BookingState.ALL, ALL_STATUSES,
+                null, PAGE, BookingRepositoryCustom.COMPACT_GRAPH));
+
+        plans.check("getLastByItemId", () -> bookingRepository.getLastByItemId(1L, now, FIRST));
+        plans.check("getNextByItemId", () -> bookingRepository.getNextByItemId(1L, now, FIRST));
+        plans.check("getBookingsByItemIdIn", () -> bookingRepository.getBookingsByItemIdIn(IDS));
+        plans.check("getLastBookingsByItemIds", () -> bookingRepository.getLastBookingsByItemIds(IDS, now));
+        plans.check("getNextBookingsByItemIds", () -> bookingRepository.getNextBookingsByItemIds(IDS, now));
+        plans.check("existsByBooker_IdAndItem_IdAndStatusAndEndBefore",
+                () -> bookingRepository.existsByBooker_IdAndItem_IdAndStatusAndEndBefore(1L, 1L,
+                        BookingStatus.APPROVED, now));
+        plans.check("getIdsByBookerIdAndItemIdAndStatusAndEndBefore",
+                () -> bookingRepository.getIdsByBookerIdAndItemIdAndStatusAndEndBefore(1L, 1L,
+                        BookingStatus.APPROVED, now, FIRST));
+
+        plans.check("getDecisionTargetsByIdIn", () -> bookingRepository.getDecisionTargetsByIdIn(IDS));
+        plans.check("decideWaiting", () -> bookingRepository.decideWaiting(IDS, 1L, BookingStatus.APPROVED,
+                BookingStatus.WAITING, now));
+        plans.check("setStatusByIdAndVersion",
+                () -> bookingRepository.setStatusByIdAndVersion(1L, -1L, BookingStatus.APPROVED, now));
+        plans.check("getIntervalsByIdGreaterThan", () -> bookingRepository.getIntervalsByIdGreaterThan(
+                BOOKINGS - 10L, List.of(BookingStatus.WAITING, BookingStatus.APPROVED), now, PAGE));
+
+        plans.assertAllIndexed();
+    }
+
+    @Test
+    void itemQueriesUseIndexes() {
+        QueryPlans plans = new QueryPlans(ItemRepository.class, ItemRepositoryCustom.class);
+
+        plans.check("findById", () -> itemRepository.findById(1L));
+        plans.check("getSnapshotById", () -> itemRepository.getSnapshotById(1L));
+        plans.check("findAllById", () -> itemRepository.findAllById(IDS));
+        plans.check("findItemsByOwner_Id", () -> itemRepository.findItemsByOwner_Id(PAGE, 1L));
+        plans.check("findItemsByIdGreaterThanOrderByIdAsc",
+                () -> itemRepository.findItemsByIdGreaterThanOrderByIdAsc(ITEMS - 10L, PAGE));
+        plans.check("getItemsByRequestIdIn", () -> itemRepository.getItemsByRequestIdIn(IDS));
+        plans.check("getItemsByIdIn", () -> itemRepository.getItemsByIdIn(IDS));
+        plans.check("touchById", () -> itemRepository.touchById(1L, now));
+        plans.check("touchCommentedBy", () -> itemRepository.touchCommentedBy(1L, now));
+        plans.check("updateByIdAndOwnerId",
+                () -> itemRepository.updateByIdAndOwnerId(1L, 2L, "item", null, null, now));
+
+        plans.assertAllIndexed();
+    }
+
+    @Test
+    void userAndRequestQueriesUseIndexes() {
+        QueryPlans userPlans = new QueryPlans(UserRepository.class, UserRepositoryCustom.class);
+        userPlans.check("getSnapshotById", () -> userRepository.getSnapshotById(1L));
+        userPlans.check("updateById", () -> userRepository.updateById(1L, "user 1", null, now));
+        userPlans.assertAllIndexed();
+
+        QueryPlans requestPlans = new QueryPlans(ItemRequestRepository.class);
+        User requestor = userRepository.findById(1L).orElseThrow();
+        requestPlans.check("getItemRequestsByRequestorOrderByCreatedDesc",
+                () -> itemRequestRepository.getItemRequestsByRequestorOrderByCreatedDesc(requestor));
+        requestPlans.check("getItemRequestsByRequestorIsNotOrderByCreatedDesc",
+                () -> itemRequestRepository.getItemRequestsByRequestorIsNotOrderByCreatedDesc(PAGE, requestor));
+        requestPlans.assertAllIndexed();
+    }
+
+    @Test
+    void commentQueriesUseIndexes() {
+        QueryPlans commentPlans = new QueryPlans(CommentRepository.class);
+        commentPlans.check("getCommentsByItem_Id", () -> commentRepository.getCommentsByItem_Id(1L));
+        commentPlans.check("getCommentsByItem_IdIn", () -> commentRepository.getCommentsByItem_IdIn(IDS));
+        commentPlans.assertAllIndexed();
+
+        QueryPlans stayPlans = new QueryPlans(CompletedStayRepository.class);
+        stayPlans.check("existsById_BookerIdAndId_ItemIdAndEndBefore",
+                () -> completedStayRepository.existsById_BookerIdAndId_ItemIdAndEndBefore(1L, 1L, now));
+        stayPlans.check("moveEndsToApproved", () -> completedStayRepository.moveEndsToApproved(IDS));
+        stayPlans.check("insertApproved", () -> completedStayRepository.insertApproved(IDS));
+        stayPlans.assertAllIndexed();
+    }
+
+    //    the plans of the statements issued by the query methods of some repository interfaces
+    private class QueryPlans {
+        private final Set<String> declared;
+        private final Map<String, List<String>> plans = new LinkedHashMap<>();
+
+        QueryPlans(Class<?>... repositories) {
+            declared = Arrays.stream(repositories)
+                    .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                    .filter(method -> !method.isSynthetic())
+                    .map(Method::getName)
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        void check(String method, Runnable call) {
+            cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+            recorder.clear();
+            call.run();
+            List<StatementRecorder.RecordedStatement> statements = recorder.getStatements();
+            assertThat(statements).as("statements of %s", method).isNotEmpty();
+
+            List<String> methodPlans = new ArrayList<>();
+            for (StatementRecorder.RecordedStatement statement : statements)
+                methodPlans.add(explain(statement));
+            plans.computeIfAbsent(method, key -> new ArrayList<>()).addAll(methodPlans);
+        }
+
+        void assertAllIndexed() {
+            assertThat(plans.keySet()).as("checked query methods").containsExactlyInAnyOrderElementsOf(declared);
+            Map<String, List<String>> fullScans = plans.entrySet().stream()
+                    .filter(entry -> entry.getValue().stream().anyMatch(plan -> plan.contains(FULL_SCAN_MARKER)))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            assertThat(fullScans).as("query methods planned as full table scans").isEmpty();
+        }
+
+        private String explain(StatementRecorder.RecordedStatement statement) {
+            return jdbcTemplate.execute("EXPLAIN " + statement.getSql(),
+                    (PreparedStatementCallback<String>) explain -> {
+                        statement.bind(explain);
+                        List<String> lines = new ArrayList<>();
+                        try (ResultSet resultSet = explain.executeQuery()) {
+                            while (resultSet.next())
+                                lines.add(resultSet.getString(1));
+                        }
+                        return String.join("\n", lines);
+                    });
+        }
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+}
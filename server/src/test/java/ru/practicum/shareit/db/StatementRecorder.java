@@ -0,0 +1,107 @@
+package ru.practicum.shareit.db;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+//    wraps the DataSource of the application and keeps every prepared statement executed through it,
+//    together with its parameters, so that the statements can be replayed, e.g. under EXPLAIN
+public class StatementRecorder implements BeanPostProcessor {
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource))
+            return bean;
+        return new DelegatingDataSource((DataSource) bean) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return recording(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return recording(super.getConnection(username, password));
+            }
+        };
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    public List<RecordedStatement> getStatements() {
+        return new ArrayList<>(statements);
+    }
+
+    private Connection recording(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement"))
+                        return recording((PreparedStatement) result, (String) args[0]);
+                    return result;
+                });
+    }
+
+    private PreparedStatement recording(PreparedStatement statement, String sql) {
+        Map<Integer, Parameter> parameters = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer)
+                        parameters.put((Integer) args[0], new Parameter(method, args));
+                    else if (name.equals("clearParameters"))
+                        parameters.clear();
+                    else if (name.startsWith("execute") && args == null)
+                        statements.add(new RecordedStatement(sql, new ArrayList<>(parameters.values())));
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RecordedStatement {
+        private final String sql;
+        private final List<Parameter> parameters;
+
+        //    binds the recorded parameters to another statement with the same placeholders
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (Parameter parameter : parameters) {
+                try {
+                    parameter.setter.invoke(statement, parameter.args);
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("cannot bind " + parameter.setter.getName(), e);
+                }
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Parameter {
+        private final Method setter;
+        private final Object[] args;
+    }
+}
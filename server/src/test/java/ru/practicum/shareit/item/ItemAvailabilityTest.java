@@ -0,0 +1,121 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//    GET /items/{itemId}/availability merges the occupying bookings clipped to the window and lists the gaps
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class ItemAvailabilityTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        User owner = userRepository.save(user("owner" + suffix));
+        booker = userRepository.save(user("booker" + suffix));
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+    }
+
+    @Test
+    void mergesBusyIntervalsInsideTheWindow() throws Exception {
+        //    overlapping bookings are saved past the admission check, which would refuse them
+        book(0, 2, BookingStatus.APPROVED);
+        book(1, 3, BookingStatus.WAITING);
+        book(5, 6, BookingStatus.WAITING);
+        book(7, 8, BookingStatus.REJECTED);
+        book(9, 12, BookingStatus.APPROVED);
+
+        mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .param("from", DAY.plusHours(1).toString())
+                        .param("to", DAY.plusHours(10).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(item.getId()))
+                .andExpect(jsonPath("$.busy.length()").value(3))
+                .andExpect(jsonPath("$.busy[0].start").value("2030-01-01T01:00:00"))
+                .andExpect(jsonPath("$.busy[0].end").value("2030-01-01T03:00:00"))
+                .andExpect(jsonPath("$.busy[1].start").value("2030-01-01T05:00:00"))
+                .andExpect(jsonPath("$.busy[1].end").value("2030-01-01T06:00:00"))
+                .andExpect(jsonPath("$.busy[2].start").value("2030-01-01T09:00:00"))
+                .andExpect(jsonPath("$.busy[2].end").value("2030-01-01T10:00:00"))
+                .andExpect(jsonPath("$.free.length()").value(2))
+                .andExpect(jsonPath("$.free[0].start").value("2030-01-01T03:00:00"))
+                .andExpect(jsonPath("$.free[0].end").value("2030-01-01T05:00:00"))
+                .andExpect(jsonPath("$.free[1].start").value("2030-01-01T06:00:00"))
+                .andExpect(jsonPath("$.free[1].end").value("2030-01-01T09:00:00"));
+    }
+
+    @Test
+    void refusesIncorrectWindow() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .param("from", DAY.plusHours(2).toString())
+                        .param("to", DAY.plusHours(1).toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .param("from", DAY.toString())
+                        .param("to", DAY.toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/{itemId}/availability", -1L)
+                        .param("from", DAY.toString())
+                        .param("to", DAY.plusHours(1).toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    private void book(int startHour, int endHour, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(DAY.plusHours(startHour));
+        booking.setEnd(DAY.plusHours(endHour));
+        booking.setStatus(status);
+        bookingIntervalIndex.update(bookingRepository.save(booking));
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.com");
+        return user;
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(null);
+        index.index(item(1L, 10L, "Дрель", "Простая дрель", true));
+        index.index(item(2L, 10L, "Отвертка", "Аккумуляторная отвертка", true));
+        index.index(item(3L, 20L, "Аккумулятор", "Запасной аккумулятор к дрели", true));
+        index.index(item(4L, 20L, "Дрель ударная", "Сломана", false));
+    }
+
+    @Test
+    void matchesWordsInsideNameAndDescription() {
+        assertThat(index.search("кумулятор", 0, 10)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(index.search("ДРЕЛ", 0, 10)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("аккум дрел", 0, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void ranksWholeWordsAndNamesFirst() {
+        assertThat(index.search("дрел", 0, 10)).containsExactly(1L, 3L);
+        assertThat(index.search("аккумулятор", 0, 10)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void skipsUnavailableAndPagesByOffset() {
+        assertThat(index.search("ударная", 0, 10)).isEmpty();
+        assertThat(index.search("дрел", 1, 1)).hasSize(1);
+        assertThat(index.search("дрел", 2, 1)).isEmpty();
+    }
+
+    @Test
+    void forgetsItemsOfRemovedOwner() {
+        index.removeOwner(20L);
+
+        assertThat(index.search("аккумулятор", 0, 10)).containsExactly(2L);
+        assertThat(index.search("запасной", 0, 10)).isEmpty();
+
+        index.index(item(4L, 20L, "Дрель ударная", "Починена", true));
+        assertThat(index.search("ударн", 0, 10)).containsExactly(4L);
+    }
+
+    @Test
+    void reindexesEditedItems() {
+        index.index(item(1L, 10L, "Перфоратор", "Простой перфоратор", true));
+
+        assertThat(index.search("перфо", 0, 10)).containsExactly(1L);
+        assertThat(index.search("дрел", 0, 10)).containsExactly(3L);
+        assertThat(index.search("прост", 0, 10)).isEqualTo(List.of(1L));
+    }
+
+    @Test
+    void filtersMatchesOnlyUntilThePageIsFull() {
+        List<Long> filtered = new ArrayList<>();
+
+        assertThat(index.search("дрел", 0, 1, itemId -> filtered.add(itemId) && itemId != 1L)).containsExactly(3L);
+        assertThat(filtered).containsExactly(1L, 3L);
+
+        filtered.clear();
+        assertThat(index.search("аккумулятор", 0, 1, filtered::add)).containsExactly(3L);
+        assertThat(filtered).containsExactly(3L);
+    }
+
+    @Test
+    void listsAvailableItemsInIdOrderUntilThePageIsFull() {
+        for (long id = 5; id <= 1000; id++)
+            index.index(item(id, 30L, "Вещь", "Вещь " + id, id % 2 == 0));
+        List<Long> filtered = new ArrayList<>();
+
+        assertThat(index.getAvailable(0, 3, itemId -> true)).containsExactly(1L, 2L, 3L);
+        assertThat(index.getAvailable(2, 3, itemId -> filtered.add(itemId) && itemId % 4 == 0))
+                .containsExactly(16L, 20L, 24L);
+        assertThat(filtered).last().isEqualTo(24L);
+        assertThat(index.getAvailable(495, 10, itemId -> true)).containsExactly(990L, 992L, 994L, 996L, 998L,
+                1000L);
+    }
+
+    @Test
+    void keepsChangesMadeWhileBuilding() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        ItemSearchIndex builtIndex = new ItemSearchIndex(itemRepository);
+        //    the first batch is read from the database, then item 1 is edited and owner 20 is deleted
+        when(itemRepository.findItemsByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenAnswer(invocation -> {
+            List<Item> batch = List.of(item(1L, 10L, "Дрель", "Простая дрель", true),
+                    item(2L, 20L, "Отвертка", "Аккумуляторная отвертка", true));
+            builtIndex.index(item(1L, 10L, "Перфоратор", "Простой перфоратор", true));
+            builtIndex.removeOwner(20L);
+            return batch;
+        });
+        when(itemRepository.findItemsByIdGreaterThanOrderByIdAsc(eq(2L), any())).thenReturn(List.of());
+
+        builtIndex.build();
+
+        assertThat(builtIndex.search("перфо", 0, 10)).containsExactly(1L);
+        assertThat(builtIndex.search("дрел", 0, 10)).isEmpty();
+        assertThat(builtIndex.search("отвертка", 0, 10)).isEmpty();
+    }
+
+    private static Item item(Long id, Long ownerId, String name, String description, boolean available) {
+        User owner = new User();
+        owner.setId(ownerId);
+        Item item = new Item();
+        item.setId(id);
+        item.setOwner(owner);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
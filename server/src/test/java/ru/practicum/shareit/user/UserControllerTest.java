@@ -0,0 +1,78 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//    PATCH /users writes only the supplied columns and leaves taken emails to the unique index of the table
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class UserControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void refusesTakenEmailWithConflict() throws Exception {
+        userRepository.save(user("first", "taken@mail.com"));
+        User second = userRepository.save(user("second", "free@mail.com"));
+
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"third\",\"email\":\"taken@mail.com\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/users/{userId}", second.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"taken@mail.com\"}"))
+                .andExpect(status().isConflict());
+
+        User unchanged = userRepository.findById(second.getId()).orElseThrow();
+        assertThat(unchanged.getEmail()).isEqualTo("free@mail.com");
+        assertThat(unchanged.getVersion()).isEqualTo(second.getVersion());
+    }
+
+    @Test
+    void updatesOnlySuppliedFields() throws Exception {
+        User user = userRepository.save(user("name", "name@mail.com"));
+
+        mockMvc.perform(patch("/users/{userId}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("renamed"))
+                .andExpect(jsonPath("$.email").value("name@mail.com"));
+        mockMvc.perform(patch("/users/{userId}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"renamed@mail.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("renamed"))
+                .andExpect(jsonPath("$.email").value("renamed@mail.com"));
+        mockMvc.perform(patch("/users/{userId}", -1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"nobody\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+}